@@ -1,14 +1,26 @@
 package com.tribu.interview.manager.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
-    
+
+    @Value("${github.http.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${github.http.read-timeout-ms:10000}")
+    private int readTimeoutMs;
+
+    // Sin timeouts una llamada colgada retiene su hilo (y su permiso de GitHub) indefinidamente
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        return new RestTemplate(requestFactory);
     }
-} 
\ No newline at end of file
+} 
@@ -0,0 +1,68 @@
+package com.tribu.interview.manager.controller;
+
+import com.tribu.interview.manager.dto.AssignmentExpiryRunDto;
+import com.tribu.interview.manager.dto.CacheStatsDto;
+import com.tribu.interview.manager.dto.ConnectionPoolStatsDto;
+import com.tribu.interview.manager.dto.GithubClientStatsDto;
+import com.tribu.interview.manager.service.cache.BoundedTtlCache;
+import com.tribu.interview.manager.service.cache.CacheRegistry;
+import com.tribu.interview.manager.service.impl.AssignmentExpiryService;
+import com.tribu.interview.manager.service.impl.ConnectionPoolMonitor;
+import com.tribu.interview.manager.service.impl.GithubService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminController {
+    private final CacheRegistry cacheRegistry;
+    private final GithubService githubService;
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+    private final AssignmentExpiryService assignmentExpiryService;
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(cacheRegistry.stats());
+    }
+
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<CacheStatsDto> clearCache(@PathVariable String name) {
+        BoundedTtlCache<?, ?> cache = cacheRegistry.find(name)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Caché no encontrada"));
+        cache.clear();
+        return ResponseEntity.ok(cache.stats());
+    }
+
+    @GetMapping("/db-pool")
+    public ResponseEntity<ConnectionPoolStatsDto> getConnectionPoolStats() {
+        return ResponseEntity.ok(connectionPoolMonitor.stats());
+    }
+
+    @GetMapping("/github")
+    public ResponseEntity<GithubClientStatsDto> getGithubClientStats() {
+        return ResponseEntity.ok(githubService.getClientStats());
+    }
+
+    @GetMapping("/assignment-expiry")
+    public ResponseEntity<AssignmentExpiryRunDto> getLastAssignmentExpiryRun() {
+        AssignmentExpiryRunDto lastRun = assignmentExpiryService.getLastRun();
+        return lastRun == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(lastRun);
+    }
+
+    @PostMapping("/assignment-expiry/run")
+    public ResponseEntity<AssignmentExpiryRunDto> runAssignmentExpiry() {
+        return ResponseEntity.ok(assignmentExpiryService.run());
+    }
+
+    @DeleteMapping("/github-users/{username}")
+    public ResponseEntity<Void> evictGithubUser(@PathVariable String username) {
+        githubService.evictUser(username);
+        return ResponseEntity.noContent().build();
+    }
+}
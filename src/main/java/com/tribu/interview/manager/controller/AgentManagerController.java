@@ -1,39 +1,153 @@
 package com.tribu.interview.manager.controller;
 
 import com.tribu.interview.manager.dto.*;
-import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.dto.enums.ExportFormatEnum;
+import com.tribu.interview.manager.service.impl.AgentCatalogMetadata;
+import com.tribu.interview.manager.service.impl.AgentExportService;
 import com.tribu.interview.manager.service.impl.AgentManagerService;
+import com.tribu.interview.manager.service.impl.AgentUploadJobService;
+import com.tribu.interview.manager.service.impl.AssignmentFeedBroadcaster;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/agents")
 public class AgentManagerController {
     private final AgentManagerService agentManagerService;
+    private final AgentExportService agentExportService;
+    private final AgentUploadJobService uploadJobService;
+    private final AssignmentFeedBroadcaster assignmentFeedBroadcaster;
 
-    @PostMapping("/upload")
-    public ResponseEntity<List<AIAgent>> uploadAgents(@Valid @RequestBody AgentUploadRequest payload) {
+    @PostMapping({"/upload", "/upload/bulk"})
+    public ResponseEntity<BulkIngestionReport> uploadAgents(@Valid @RequestBody AgentUploadRequest payload) {
         return ResponseEntity.ok(agentManagerService.processJsonData(payload));
     }
 
+    @PostMapping(value = "/upload/stream",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkIngestionReport> uploadAgentsStream(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType);
+        return ResponseEntity.ok(agentManagerService.ingestStream(body, ndjson));
+    }
+
+    @PostMapping(value = "/upload-jobs",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<UploadJobStatusDto> submitUploadJob(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType);
+        UploadJobStatusDto job = uploadJobService.submit(body, ndjson);
+        return ResponseEntity.accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/agents/upload-jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri())
+            .body(job);
+    }
+
+    @GetMapping("/upload-jobs/{id}")
+    public ResponseEntity<UploadJobStatusDto> getUploadJob(@PathVariable String id) {
+        return uploadJobService.find(id)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trabajo no encontrado"));
+    }
+
     @GetMapping("/metadata")
-    public ResponseEntity<MetadataResponse> getAgentsMetadata() {
-        return ResponseEntity.ok(agentManagerService.getMetadata());
+    public ResponseEntity<MetadataResponse> getAgentsMetadata(WebRequest request) {
+        AgentCatalogMetadata metadata = agentManagerService.getCatalogMetadata();
+        if (request.checkNotModified(metadata.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(metadata.getEtag())
+            .body(metadata.getResponse());
     }
 
     @GetMapping
     public ResponseEntity<PaginatedAgentResponse> getAgents(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String industry,
+            @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(agentManagerService.getAgents(page, pageSize, cursor, includeTotal,
+            category, industry, search));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<AgentFacetsDto> getFacets(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String industry,
             @RequestParam(required = false) String search) {
-        return ResponseEntity.ok(agentManagerService.getAgents(page, pageSize, category, industry, search));
+        return ResponseEntity.ok(agentManagerService.getFacets(category, industry, search));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<AgentChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(agentManagerService.getChanges(since, limit));
+    }
+
+    @GetMapping("/export")
+    public void exportAgents(
+            @RequestParam(defaultValue = "NDJSON") ExportFormatEnum format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        boolean csv = format == ExportFormatEnum.CSV;
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"agents." + (csv ? "csv" : "ndjson") + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 8192)
+                : response.getOutputStream()) {
+            agentExportService.export(format, out);
+        }
+    }
+
+    /**
+     * Cambios de asignaciones en tiempo real (SSE). Al reconectar, el navegador envía
+     * Last-Event-ID y se reenvían los eventos perdidos que sigan en el buffer.
+     */
+    @GetMapping(value = "/assignments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAssignments(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return assignmentFeedBroadcaster.subscribe(lastEventId);
+    }
+
+    @GetMapping("/{idOrSlug}")
+    public ResponseEntity<AgentWithAssignmentDto> getAgent(@PathVariable String idOrSlug) {
+        return ResponseEntity.ok(agentManagerService.getAgent(idOrSlug));
     }
 
     @GetMapping("/researchers/{email}")
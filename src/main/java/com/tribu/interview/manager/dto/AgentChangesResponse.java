@@ -0,0 +1,25 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cambios del catálogo posteriores a {@code since}, en orden de versión. El cliente aplica
+ * {@code deletedIds} y {@code changed} y vuelve a llamar con {@code since = version}
+ * mientras {@code hasMore} sea true.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentChangesResponse {
+    private long since;
+    private long version;
+    private boolean hasMore;
+    private List<AgentWithAssignmentDto> changed;
+    private List<String> deletedIds;
+}
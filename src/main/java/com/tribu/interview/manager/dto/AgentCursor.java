@@ -0,0 +1,55 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de paginación por keyset sobre (created_at, id) descendente, o sobre
+ * (relevancia, created_at, id) en búsquedas full-text.
+ * Se expone a los clientes como un token opaco en base64 url-safe.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentCursor {
+    private static final String SEPARATOR = "|";
+
+    private Float searchRank;
+    private LocalDateTime createdAt;
+    private String id;
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        if (searchRank != null) {
+            raw = searchRank + SEPARATOR + raw;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AgentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length < 2 || parts.length > 3 || parts[parts.length - 1].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            boolean ranked = parts.length == 3;
+            return AgentCursor.builder()
+                .searchRank(ranked ? Float.valueOf(parts[0]) : null)
+                .createdAt(LocalDateTime.parse(parts[ranked ? 1 : 0]))
+                .id(parts[ranked ? 2 : 1])
+                .build();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Conteos de agentes por faceta bajo los filtros actuales (categoría, industria y búsqueda).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentFacetsDto {
+    private long total;
+    // Ordenados por valor; solo aparecen los valores con al menos un agente
+    private Map<String, Long> categories;
+    private Map<String, Long> industries;
+    // Con / sin investigador primario activo
+    private long assigned;
+    private long unassigned;
+}
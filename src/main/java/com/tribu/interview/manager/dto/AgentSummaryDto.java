@@ -0,0 +1,28 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Agente tal como aparece en los listados. El registro completo se obtiene en GET /agents/{idOrSlug}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentSummaryDto {
+    private String id;
+    private String name;
+    private String slug;
+    private String category;
+    private String industry;
+    private String shortDescription;
+    private String logo;
+    private LocalDateTime createdAt;
+    private Boolean hasPrimaryResearcher;
+    private AgentWithAssignmentDto.AssignmentInfoDto assignmentInfo;
+    private Integer totalContributors;
+}
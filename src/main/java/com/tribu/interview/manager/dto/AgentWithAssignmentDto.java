@@ -35,6 +35,7 @@ public class AgentWithAssignmentDto {
     private String slug;
     private String version;
     private Boolean featured;
+    private Long catalogVersion;
     private Boolean hasPrimaryResearcher;
     private AssignmentInfoDto assignmentInfo;
     private Integer totalContributors;
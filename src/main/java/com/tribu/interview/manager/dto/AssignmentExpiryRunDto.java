@@ -0,0 +1,23 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class AssignmentExpiryRunDto {
+    private LocalDateTime startedAt;
+    // Se vencen las asignaciones activas con assigned_at anterior a este instante
+    private LocalDateTime cutoff;
+    private int expired;
+    private int batches;
+    private long durationMs;
+    // true si se alcanzó agents.assignments.expiry.max-batches-per-run y quedan vencidas pendientes
+    private boolean truncated;
+    private String error;
+    // Acumulado desde el arranque
+    private long totalExpired;
+    private long totalRuns;
+}
@@ -0,0 +1,30 @@
+package com.tribu.interview.manager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Evento del stream de asignaciones (GET /agents/assignments/stream). Los eventos "assignment"
+ * describen un alta o cambio de estado; los "assignments-expired" agrupan las asignaciones
+ * vencidas en una ejecución del job de vencimiento y solo traen los agentes afectados.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssignmentFeedEventDto {
+    private long id;
+    private String type;
+    private String assignmentId;
+    private String agentId;
+    private String researcherId;
+    private String role;
+    private String previousStatus;
+    private String status;
+    private Set<String> agentIds;
+    private Integer count;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,53 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestionReport {
+    private int received;
+    private int inserted;
+    private int updated;
+    // Filas idénticas a las ya guardadas (mismo hash de contenido), que no se reescriben
+    private int unchanged;
+    private int rejected;
+    private long durationMs;
+    private int totalChunks;
+    // Acotado por agents.ingestion.max-reported-chunks
+    private List<ChunkReport> chunks;
+    // Acotado por agents.ingestion.max-reported-rejections; rejected siempre tiene el total
+    private List<RejectedRow> rejectedRows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkReport {
+        private int chunk;
+        private int rows;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int rejected;
+        private long durationMs;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedRow {
+        // Posición del agente en el payload (0-based)
+        private int index;
+        private String id;
+        private String name;
+        private String reason;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsDto {
+    private String name;
+    private int size;
+    private int maxSize;
+    private long ttlSeconds;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    // Entradas descartadas por tamaño (LRU)
+    private long evictions;
+    private long expirations;
+    // Entradas eliminadas explícitamente (cambios de datos, endpoints de administración)
+    private long invalidations;
+    // Cargas en curso y peticiones que esperaron una carga ya en curso en lugar de lanzar otra
+    private int loadsInFlight;
+    private long coalescedLoads;
+}
@@ -0,0 +1,19 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConnectionPoolStatsDto {
+    private String poolName;
+    private int active;
+    private int idle;
+    private int total;
+    private int maximumPoolSize;
+    private int threadsAwaitingConnection;
+    // Máximo de conexiones activas observado desde el último reinicio
+    private int peakActive;
+    // Llamadas a GitHub hechas con una transacción abierta; debería quedarse en 0
+    private long githubCallsInsideTransaction;
+}
@@ -0,0 +1,30 @@
+package com.tribu.interview.manager.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class GithubClientStatsDto {
+    private int maxConcurrentRequests;
+    private int availablePermits;
+    // Usuarios con una llamada a GitHub en curso
+    private int inFlightLookups;
+    // Búsquedas que esperaron el resultado de una llamada ya en curso en lugar de hacer la suya
+    private long coalescedLookups;
+    // Búsquedas rechazadas por no obtener permiso dentro de github.lookup.acquire-timeout-ms
+    private long rejectedLookups;
+    // Peticiones HTTP hechas a GitHub; las respuestas 304 no consumen cuota
+    private long requests;
+    private long notModifiedResponses;
+    private long throttledResponses;
+    // Llamadas espaciadas por quedar poca cuota (github.rate-limit.reserve)
+    private long pacedRequests;
+    // Último X-RateLimit-Limit / X-RateLimit-Remaining / X-RateLimit-Reset recibidos
+    private Long rateLimit;
+    private Long rateLimitRemaining;
+    private Instant rateLimitResetAt;
+    private Instant blockedUntil;
+}
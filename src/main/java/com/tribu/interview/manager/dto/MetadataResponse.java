@@ -3,10 +3,14 @@ package com.tribu.interview.manager.dto;
 import lombok.Builder;
 import lombok.Data;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
 public class MetadataResponse {
     private List<String> categories;
     private List<String> industries;
-} 
\ No newline at end of file
+    // Número de agentes por valor, en el mismo orden que las listas
+    private Map<String, Long> categoryCounts;
+    private Map<String, Long> industryCounts;
+}
@@ -12,8 +12,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PaginatedAgentResponse {
-    private List<AgentWithAssignmentDto> content;
-    private long totalElements;
-    private int totalPages;
+    private List<AgentSummaryDto> content;
+    // null cuando el cliente pide includeTotal=false
+    private Long totalElements;
+    private Integer totalPages;
     private int currentPage;
-} 
\ No newline at end of file
+    private int pageSize;
+    private boolean hasNext;
+    private String nextCursor;
+}
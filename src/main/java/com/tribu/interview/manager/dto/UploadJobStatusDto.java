@@ -0,0 +1,32 @@
+package com.tribu.interview.manager.dto;
+
+import com.tribu.interview.manager.dto.enums.UploadJobStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadJobStatusDto {
+    private String id;
+    private UploadJobStatusEnum status;
+    private long payloadBytes;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    // Progreso, actualizado tras cada bloque escrito
+    private int rowsProcessed;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private double rowsPerSecond;
+    private String error;
+    // Informe completo, solo cuando el trabajo ha terminado
+    private BulkIngestionReport summary;
+}
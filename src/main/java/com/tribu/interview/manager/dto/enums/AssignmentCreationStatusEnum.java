@@ -0,0 +1,14 @@
+package com.tribu.interview.manager.dto.enums;
+
+public enum AssignmentCreationStatusEnum {
+    CREATED,
+    AGENT_NOT_FOUND,
+    // El investigador ya tiene una asignación activa sobre el mismo agente
+    SAME_AGENT_OPEN,
+    // El investigador ya tiene una contribución activa (solo aplica al pedir otra contribución)
+    CONTRIBUTION_OPEN,
+    // El agente ya tiene un investigador PRIMARY activo
+    PRIMARY_TAKEN,
+    // Restricción unique_assignment_pair: el investigador ya tuvo una asignación sobre este agente
+    DUPLICATE_ASSIGNMENT
+}
@@ -0,0 +1,6 @@
+package com.tribu.interview.manager.dto.enums;
+
+public enum ExportFormatEnum {
+    NDJSON,
+    CSV
+}
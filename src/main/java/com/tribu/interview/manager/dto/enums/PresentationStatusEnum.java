@@ -5,5 +5,6 @@ public enum PresentationStatusEnum {
     SCHEDULED,// Initial state
     VIDEO_UPLOADED,      // Video has been uploaded
     VOTING_OPEN,        // Presentation is open for voting
-    COMPLETED           // Voting period ended
+    COMPLETED,          // Voting period ended
+    CANCELLED           // Assignment expired before presenting
 }
\ No newline at end of file
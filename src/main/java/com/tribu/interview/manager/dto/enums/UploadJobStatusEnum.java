@@ -0,0 +1,8 @@
+package com.tribu.interview.manager.dto.enums;
+
+public enum UploadJobStatusEnum {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.tribu.interview.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Publicado por JdbcAgentAssignmentRepository cada vez que una asignación se crea o cambia de estado.
+ * {@code previousStatus} es null para asignaciones nuevas. {@code documentedDelta} vale 1 cuando el
+ * agente pasa a tener su primera asignación terminada, -1 cuando deja de tenerla y 0 en otro caso.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class AgentAssignmentChangedEvent {
+    private String assignmentId;
+    private String agentId;
+    private String researcherId;
+    private String role;
+    private String previousStatus;
+    private String status;
+    private int documentedDelta;
+}
@@ -0,0 +1,19 @@
+package com.tribu.interview.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Publicado una vez por ejecución del job de vencimiento con todas las asignaciones activas que
+ * pasaron a "expired", para que cachés y contadores se actualicen en un solo paso en lugar de
+ * asignación por asignación.
+ */
+@Data
+@AllArgsConstructor
+public class AgentAssignmentsExpiredEvent {
+    private Set<String> agentIds;
+    private Set<String> researcherIds;
+    private int expired;
+}
@@ -0,0 +1,18 @@
+package com.tribu.interview.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Publicado cuando se insertan o actualizan agentes. {@code agentIds} es null en las cargas
+ * masivas, donde no se enumeran los agentes afectados. {@code inserted} es cuántos de ellos
+ * son agentes nuevos.
+ */
+@Data
+@AllArgsConstructor
+public class AgentCatalogChangedEvent {
+    private List<String> agentIds;
+    private int inserted;
+}
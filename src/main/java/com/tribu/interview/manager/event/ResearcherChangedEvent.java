@@ -0,0 +1,14 @@
+package com.tribu.interview.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Publicado cuando cambia el perfil de un investigador o alguna de sus presentaciones.
+ * {@code researcherId} es null si el cambio no se puede atribuir a un investigador concreto.
+ */
+@Data
+@AllArgsConstructor
+public class ResearcherChangedEvent {
+    private String researcherId;
+}
@@ -35,6 +35,8 @@ public class AIAgent {
     private String slug;
     private String version;
     private Boolean featured;
+    private Long catalogVersion;
+    private String contentHash;
     
     // Assignment-related fields from the JOIN
     private String assignmentStatus;
@@ -43,4 +45,8 @@ public class AIAgent {
     private String assignedToEmail;
     private String assignedRole;
     private Integer totalContributors;
+    private Boolean primaryAssigned;
+
+    // Relevancia full-text, solo presente en búsquedas
+    private Float searchRank;
 } 
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.tribu.interview.manager.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 del contenido editable de un agente. No incluye id, created_at ni los campos de
+ * asignación, así que dos cargas del mismo documento producen el mismo hash.
+ */
+public final class AgentContentHash {
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final String NULL_MARKER = "\u0000";
+
+    private AgentContentHash() {
+    }
+
+    public static String of(AIAgent agent) {
+        StringBuilder content = new StringBuilder(512);
+        Stream.of(agent.getName(), agent.getCreatedBy(), agent.getWebsite(), agent.getAccess(),
+                agent.getPricingModel(), agent.getCategory(), agent.getIndustry(), agent.getShortDescription(),
+                agent.getLongDescription(), agent.getKeyFeatures(), agent.getUseCases(), agent.getTags(),
+                agent.getLogo(), agent.getLogoFileName(), agent.getImage(), agent.getImageFileName(),
+                agent.getVideo(), agent.getUpvotes(), agent.getApproved(), agent.getSlug(),
+                agent.getVersion(), agent.getFeatured())
+            .forEach(value -> content.append(value == null ? NULL_MARKER : value.toString()).append(FIELD_SEPARATOR));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.tribu.interview.manager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentDeletion {
+    private String agentId;
+    private Long catalogVersion;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,24 @@
+package com.tribu.interview.manager.model;
+
+import com.tribu.interview.manager.dto.AgentResearcherResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Investigador con sus investigaciones (activas y terminadas) y las presentaciones de las
+ * investigaciones primarias, leído en una sola consulta.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResearcherDetails {
+    private Researcher researcher;
+    private List<AgentResearcherResponseDto> researches;
+    // Ordenadas por fecha de presentación descendente; assignment solo lleva id y agent.id
+    private List<Presentation> presentations;
+}
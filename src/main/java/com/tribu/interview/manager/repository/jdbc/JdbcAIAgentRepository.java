@@ -1,24 +1,37 @@
 package com.tribu.interview.manager.repository.jdbc;
 
+import com.tribu.interview.manager.dto.AgentCursor;
+import com.tribu.interview.manager.dto.AgentFacetsDto;
 import com.tribu.interview.manager.dto.AgentResearcherResponseDto;
 import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.model.AgentContentHash;
+import com.tribu.interview.manager.model.AgentDeletion;
 import com.tribu.interview.manager.repository.mapper.AIAgentRowMapper;
+import com.tribu.interview.manager.repository.mapper.AIAgentSummaryRowMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
@@ -26,28 +39,101 @@ public class JdbcAIAgentRepository {
     
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final AIAgentRowMapper rowMapper = new AIAgentRowMapper();
+    private final AIAgentSummaryRowMapper summaryRowMapper = new AIAgentSummaryRowMapper();
 
-    private static final String SELECT_BASE = """
+    private static final String SELECT_COLUMNS = """
         SELECT a.id, a.name, a.created_by, a.website, a.access, a.pricing_model,
                a.category, a.industry, a.short_description, a.long_description,
                a.key_features, a.use_cases, a.tags, a.logo, a.logo_file_name,
                a.image, a.image_file_name, a.video, a.upvotes, a.approved,
-               a.created_at, a.slug, a.version, a.featured,
+               a.created_at, a.slug, a.version, a.featured, a.catalog_version,
                aa.status as assignment_status,
                aa.assigned_at,
                aa.role as assignment_role,
                r.name as assigned_to_name,
                r.email as assigned_to_email,
-               (SELECT COUNT(*) FROM agent_assignments aa2 
-                WHERE aa2.agent_id = a.id 
-                AND aa2.status = 'active') as total_contributors
+               COALESCE(c.active_contributors, 0) as total_contributors,
+               COALESCE(c.active_primaries, 0) > 0 as primary_assigned
+    """;
+
+    // Columnas de la vista de lista; ver AIAgentSummaryRowMapper
+    private static final String SUMMARY_COLUMNS = """
+        SELECT a.id, a.name, a.slug, a.category, a.industry, a.short_description,
+               a.logo, a.created_at,
+               aa.status as assignment_status,
+               aa.assigned_at,
+               aa.role as assignment_role,
+               r.name as assigned_to_name,
+               r.email as assigned_to_email,
+               COALESCE(c.active_contributors, 0) as total_contributors,
+               COALESCE(c.active_primaries, 0) > 0 as primary_assigned
+    """;
+
+    private static final String FROM_BASE = """
         FROM ai_agents a
+        LEFT JOIN agent_assignment_counters c ON c.agent_id = a.id
         LEFT JOIN agent_assignments aa ON a.id = aa.agent_id 
             AND aa.status = 'active' 
             AND aa.role = 'PRIMARY'
         LEFT JOIN investigadores r ON aa.investigador_id = r.id
     """;
 
+    private static final String SELECT_BASE = SELECT_COLUMNS + FROM_BASE;
+
+    // Relevancia full-text; la normalización 32 deja el rank en [0, 1)
+    private static final String SEARCH_RANK = "ts_rank_cd(a.search_vector, to_tsquery('simple', :tsQuery), 32)";
+
+    private static final String SELECT_SUMMARY = SUMMARY_COLUMNS + FROM_BASE;
+
+    private static final String SELECT_SUMMARY_RANKED = SUMMARY_COLUMNS
+        + ", " + SEARCH_RANK + " as search_rank\n" + FROM_BASE;
+
+    private static final int MAX_SEARCH_TERMS = 8;
+
+    // created_at se conserva en las actualizaciones para no alterar el orden del catálogo.
+    // Si el hash de contenido no cambia la fila no se reescribe (ni cambia su versión).
+    // La versión se calcula con los VALUES, así que también la gasta una fila propuesta que no se
+    // escribe; AgentIngestionService descarta antes las que no cambian para que eso solo pase en
+    // carreras con otra carga.
+    private static final String UPSERT_SQL = """
+        INSERT INTO ai_agents (id, name, created_by, website, access, pricing_model,
+                             category, industry, short_description, long_description,
+                             key_features, use_cases, tags, logo, logo_file_name,
+                             image, image_file_name, video, upvotes, approved,
+                             created_at, slug, version, featured, catalog_version, content_hash)
+        VALUES (:id, :name, :createdBy, :website, :access, :pricingModel,
+               :category, :industry, :shortDescription, :longDescription,
+               :keyFeatures, :useCases, :tags, :logo, :logoFileName,
+               :image, :imageFileName, :video, :upvotes, :approved,
+               COALESCE(:createdAt, NOW()), :slug, :version, :featured, next_catalog_version(), :contentHash)
+        ON CONFLICT (id) DO UPDATE
+        SET name = EXCLUDED.name,
+            created_by = EXCLUDED.created_by,
+            website = EXCLUDED.website,
+            access = EXCLUDED.access,
+            pricing_model = EXCLUDED.pricing_model,
+            category = EXCLUDED.category,
+            industry = EXCLUDED.industry,
+            short_description = EXCLUDED.short_description,
+            long_description = EXCLUDED.long_description,
+            key_features = EXCLUDED.key_features,
+            use_cases = EXCLUDED.use_cases,
+            tags = EXCLUDED.tags,
+            logo = EXCLUDED.logo,
+            logo_file_name = EXCLUDED.logo_file_name,
+            image = EXCLUDED.image,
+            image_file_name = EXCLUDED.image_file_name,
+            video = EXCLUDED.video,
+            upvotes = EXCLUDED.upvotes,
+            approved = EXCLUDED.approved,
+            slug = EXCLUDED.slug,
+            version = EXCLUDED.version,
+            featured = EXCLUDED.featured,
+            catalog_version = EXCLUDED.catalog_version,
+            content_hash = EXCLUDED.content_hash
+        WHERE ai_agents.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+    """;
+
     private static final String SELECT_BASE_2 = """
         SELECT 
             a.id, 
@@ -77,123 +163,330 @@ public class JdbcAIAgentRepository {
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
-    public List<AIAgent> saveAll(List<AIAgent> agents) {
-        List<AIAgent> savedAgents = new ArrayList<>();
-        for (AIAgent agent : agents) {
-            savedAgents.add(save(agent));
+    /**
+     * Registro completo buscando por id o, si no hay ningún agente con ese id, por slug.
+     */
+    public Optional<AIAgent> findByIdOrSlug(String key) {
+        String sql = SELECT_BASE + """
+            WHERE a.id = :key OR a.slug = :key
+            ORDER BY a.id = :key DESC, a.created_at DESC, a.id COLLATE "C" DESC
+            LIMIT 1
+        """;
+
+        List<AIAgent> results = jdbcTemplate.query(sql, new MapSqlParameterSource("key", key), rowMapper);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    public Optional<AIAgent> findSummaryById(String id) {
+        String sql = SELECT_SUMMARY + " WHERE a.id = :id";
+
+        List<AIAgent> results = jdbcTemplate.query(sql, new MapSqlParameterSource("id", id), summaryRowMapper);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    /**
+     * Todo el catálogo en la proyección de resumen, en el orden del listado.
+     */
+    public List<AIAgent> findAllSummaries() {
+        String sql = SELECT_SUMMARY + " ORDER BY a.created_at DESC, a.id COLLATE \"C\" DESC";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource(), summaryRowMapper);
+    }
+
+    /**
+     * Inserta o actualiza los agentes en un único batch JDBC. Los agentes sin id reciben uno nuevo.
+     * No publica eventos: quien la use es responsable de notificar el cambio de catálogo.
+     */
+    public void upsertBatch(List<AIAgent> agents) {
+        SqlParameterSource[] batch = agents.stream()
+            .map(agent -> {
+                if (agent.getId() == null) {
+                    agent.setId(UUID.randomUUID().toString());
+                }
+                return createParameterSource(agent).addValue("id", agent.getId());
+            })
+            .toArray(SqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Hash de contenido de los agentes existentes en una sola consulta; los ids que no
+     * existen no aparecen en el mapa y los agentes aún sin hash tienen valor null.
+     */
+    public Map<String, String> findContentHashes(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
         }
-        return savedAgents;
+
+        String sql = "SELECT id, content_hash FROM ai_agents WHERE id IN (:ids)";
+        Map<String, String> hashes = new HashMap<>(ids.size() * 2);
+        jdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids),
+            (RowCallbackHandler) rs -> hashes.put(rs.getString("id"), rs.getString("content_hash")));
+        return hashes;
+    }
+
+    public Map<String, Long> countByCategory() {
+        return countGroupedBy("category");
     }
 
-    public List<String> findDistinctCategories() {
-        String sql = "SELECT DISTINCT category FROM ai_agents WHERE category IS NOT NULL ORDER BY category";
-        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource(), String.class);
+    public Map<String, Long> countByIndustry() {
+        return countGroupedBy("industry");
+    }
+
+    // column siempre es una constante de esta clase, nunca entrada del usuario
+    private Map<String, Long> countGroupedBy(String column) {
+        String sql = "SELECT " + column + " AS value, COUNT(*) AS total FROM ai_agents " +
+            "WHERE " + column + " IS NOT NULL GROUP BY " + column + " ORDER BY " + column;
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource(),
+            (RowCallbackHandler) rs -> counts.put(rs.getString("value"), rs.getLong("total")));
+        return counts;
+    }
+
+    /**
+     * Recorre todo el catálogo (columnas de SELECT_BASE) con un ResultSet forward-only y entrega
+     * los agentes de uno en uno. Debe llamarse dentro de una transacción: fuera de ella el driver
+     * de PostgreSQL ignora el fetch size y carga el resultado completo en memoria.
+     */
+    public void streamAll(int fetchSize, Consumer<AIAgent> consumer) {
+        String sql = SELECT_BASE + " ORDER BY a.created_at DESC, a.id COLLATE \"C\" DESC";
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Agentes con versión de catálogo en (since, upTo], en orden de versión.
+     */
+    public List<AIAgent> findChangedSince(long since, long upTo, int limit) {
+        String sql = SELECT_BASE + """
+            WHERE a.catalog_version > :since
+            AND a.catalog_version <= :upTo
+            ORDER BY a.catalog_version
+            LIMIT :limit
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("since", since)
+            .addValue("upTo", upTo)
+            .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, rowMapper);
+    }
+
+    /**
+     * Borrados con versión en (since, upTo], en orden de versión. Se omiten los ids que han
+     * vuelto a darse de alta, que ya aparecen como cambios.
+     */
+    public List<AgentDeletion> findDeletedSince(long since, long upTo, int limit) {
+        String sql = """
+            SELECT d.agent_id, d.catalog_version, d.deleted_at
+            FROM ai_agent_deletions d
+            WHERE d.catalog_version > :since
+            AND d.catalog_version <= :upTo
+            AND NOT EXISTS (SELECT 1 FROM ai_agents a WHERE a.id::text = d.agent_id)
+            ORDER BY d.catalog_version
+            LIMIT :limit
+        """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("since", since)
+            .addValue("upTo", upTo)
+            .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> AgentDeletion.builder()
+            .agentId(rs.getString("agent_id"))
+            .catalogVersion(rs.getLong("catalog_version"))
+            .deletedAt(rs.getObject("deleted_at", LocalDateTime.class))
+            .build());
     }
 
-    public List<String> findDistinctIndustries() {
-        String sql = "SELECT DISTINCT industry FROM ai_agents WHERE industry IS NOT NULL ORDER BY industry";
-        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource(), String.class);
+    /**
+     * Versión más alta que ya no puede recibir cambios nuevos: la mayor confirmada, limitada por
+     * debajo de la clave del lock de escritor más antiguo aún vivo (ver 006-agent-catalog-version.sql).
+     * Una transacción que escribió versiones bajas y aún no ha confirmado mantiene el techo por
+     * debajo de ellas aunque otras con versiones más altas ya hayan confirmado.
+     * Los locks se leen después de tomar el snapshot de la sentencia, así que un escritor que
+     * confirma entre medias ya es visible para las lecturas siguientes.
+     */
+    public long currentCatalogVersion() {
+        String sql = """
+            SELECT LEAST(
+                GREATEST(
+                    COALESCE((SELECT MAX(catalog_version) FROM ai_agents), 0),
+                    COALESCE((SELECT MAX(catalog_version) FROM ai_agent_deletions), 0)),
+                COALESCE((
+                    SELECT MIN(l.objid::bigint) - 1
+                    FROM pg_locks l
+                    WHERE l.locktype = 'advisory'
+                    AND l.objsubid = 2
+                    AND l.classid = 20613
+                    AND l.database = (SELECT oid FROM pg_database WHERE datname = current_database())
+                    AND l.pid <> pg_backend_pid()), 9223372036854775807))
+        """;
+        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
     }
 
-    public List<AIAgent> findAllWithFilters(String category, String industry, String search) {
-        StringBuilder sql = new StringBuilder(SELECT_BASE);
+    /**
+     * Página de agentes ordenada por (created_at, id) descendente, con el id comparado en
+     * COLLATE "C" (orden de bytes) para que coincida con AgentCatalogSnapshot. Si llega un cursor se
+     * usa keyset (las filas estrictamente posteriores al cursor); si no, un OFFSET acotado
+     * por el servicio para soportar el parámetro legacy {@code page}.
+     * Con búsqueda full-text el orden pasa a ser (relevancia, created_at, id) y el cursor
+     * incluye la relevancia de la última fila. Devuelve la proyección de resumen.
+     */
+    public List<AIAgent> findPageWithFilters(String category, String industry, String search,
+                                             AgentCursor after, int offset, int limit) {
         MapSqlParameterSource params = new MapSqlParameterSource();
-        List<String> conditions = new ArrayList<>();
+        List<String> conditions = buildFilterConditions(category, industry, search, params);
+        boolean ranked = params.hasValue("tsQuery");
+        StringBuilder sql = new StringBuilder(ranked ? SELECT_SUMMARY_RANKED : SELECT_SUMMARY);
 
-        if (StringUtils.hasText(category)) {
-            conditions.add("a.category = :category");
-            params.addValue("category", category);
+        if (after != null) {
+            if (ranked) {
+                conditions.add("(" + SEARCH_RANK + ", a.created_at, a.id COLLATE \"C\") < (:afterRank, :afterCreatedAt, :afterId)");
+                params.addValue("afterRank", after.getSearchRank());
+            } else {
+                conditions.add("(a.created_at, a.id COLLATE \"C\") < (:afterCreatedAt, :afterId)");
+            }
+            params.addValue("afterCreatedAt", after.getCreatedAt());
+            params.addValue("afterId", after.getId());
         }
 
-        if (StringUtils.hasText(industry)) {
-            conditions.add("a.industry = :industry");
-            params.addValue("industry", industry);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
         }
 
-        if (StringUtils.hasText(search)) {
-            conditions.add("(LOWER(a.name) LIKE LOWER(:search) OR LOWER(a.short_description) LIKE LOWER(:search))");
-            params.addValue("search", "%" + search + "%");
+        sql.append(ranked
+            ? " ORDER BY search_rank DESC, a.created_at DESC, a.id COLLATE \"C\" DESC"
+            : " ORDER BY a.created_at DESC, a.id COLLATE \"C\" DESC");
+        sql.append(" LIMIT :limit OFFSET :offset");
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        if (!ranked) {
+            return jdbcTemplate.query(sql.toString(), params, summaryRowMapper);
         }
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            AIAgent agent = summaryRowMapper.mapRow(rs, rowNum);
+            agent.setSearchRank(rs.getFloat("search_rank"));
+            return agent;
+        });
+    }
+
+    public long countWithFilters(String category, String industry, String search) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ai_agents a");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = buildFilterConditions(category, industry, search, params);
 
         if (!conditions.isEmpty()) {
             sql.append(" WHERE ").append(String.join(" AND ", conditions));
         }
 
-        sql.append(" ORDER BY a.created_at DESC");
-        return jdbcTemplate.query(sql.toString(), params, rowMapper);
+        return jdbcTemplate.queryForObject(sql.toString(), params, Long.class);
     }
 
-    public long count() {
-        String sql = "SELECT COUNT(*) FROM ai_agents";
-        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
+    /**
+     * Conteos por categoría, industria y estado de asignación en una sola consulta con
+     * GROUPING SETS; la fila con todas las columnas agrupadas es el total.
+     */
+    public AgentFacetsDto countFacets(String category, String industry, String search) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = buildFilterConditions(category, industry, search, params);
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        String sql = """
+            SELECT category, industry, assigned,
+                   GROUPING(category) AS g_category,
+                   GROUPING(industry) AS g_industry,
+                   GROUPING(assigned) AS g_assigned,
+                   COUNT(*) AS total
+            FROM (
+                SELECT a.category, a.industry, COALESCE(c.active_primaries, 0) > 0 AS assigned
+                FROM ai_agents a
+                LEFT JOIN agent_assignment_counters c ON c.agent_id = a.id
+            """ + where + """
+            ) filtered
+            GROUP BY GROUPING SETS ((category), (industry), (assigned), ())
+            ORDER BY category, industry
+            """;
+
+        AgentFacetsDto facets = AgentFacetsDto.builder()
+            .categories(new LinkedHashMap<>())
+            .industries(new LinkedHashMap<>())
+            .build();
+        jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+            long total = rs.getLong("total");
+            if (rs.getInt("g_category") == 0) {
+                if (rs.getString("category") != null) {
+                    facets.getCategories().put(rs.getString("category"), total);
+                }
+            } else if (rs.getInt("g_industry") == 0) {
+                if (rs.getString("industry") != null) {
+                    facets.getIndustries().put(rs.getString("industry"), total);
+                }
+            } else if (rs.getInt("g_assigned") == 0) {
+                if (rs.getBoolean("assigned")) {
+                    facets.setAssigned(total);
+                } else {
+                    facets.setUnassigned(total);
+                }
+            } else {
+                facets.setTotal(total);
+            }
+        });
+        return facets;
     }
 
-    public AIAgent save(AIAgent agent) {
-        if (agent.getId() == null) {
-            return insert(agent);
+    /**
+     * Convierte el texto libre del usuario en un tsquery con coincidencia por prefijo
+     * ({@code "crm vent"} -> {@code "crm:* & vent:*"}). Solo se conservan letras y dígitos,
+     * así que el resultado nunca contiene operadores de tsquery del usuario.
+     *
+     * @return el tsquery, o null si la búsqueda no contiene términos utilizables
+     */
+    public static String toPrefixTsQuery(String search) {
+        if (!StringUtils.hasText(search)) {
+            return null;
         }
-        return update(agent);
+
+        List<String> terms = Arrays.stream(search.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(StringUtils::hasText)
+            .distinct()
+            .limit(MAX_SEARCH_TERMS)
+            .map(term -> term + ":*")
+            .toList();
+
+        return terms.isEmpty() ? null : String.join(" & ", terms);
     }
 
-    private AIAgent insert(AIAgent agent) {
-        String sql = """
-            INSERT INTO ai_agents (id, name, created_by, website, access, pricing_model,
-                                 category, industry, short_description, long_description,
-                                 key_features, use_cases, tags, logo, logo_file_name,
-                                 image, image_file_name, video, upvotes, approved,
-                                 created_at, slug, version, featured)
-            VALUES (:id, :name, :createdBy, :website, :access, :pricingModel,
-                   :category, :industry, :shortDescription, :longDescription,
-                   :keyFeatures, :useCases, :tags, :logo, :logoFileName,
-                   :image, :imageFileName, :video, :upvotes, :approved,
-                   :createdAt, :slug, :version, :featured)
-        """;
+    private List<String> buildFilterConditions(String category, String industry, String search,
+                                               MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
 
-        String id = UUID.randomUUID().toString();
-        MapSqlParameterSource params = createParameterSource(agent)
-            .addValue("id", id);
+        if (StringUtils.hasText(category)) {
+            conditions.add("a.category = :category");
+            params.addValue("category", category);
+        }
 
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(sql, params, keyHolder);
-        
-        agent.setId(id);
-        return agent;
-    }
+        if (StringUtils.hasText(industry)) {
+            conditions.add("a.industry = :industry");
+            params.addValue("industry", industry);
+        }
 
-    private AIAgent update(AIAgent agent) {
-        String sql = """
-            UPDATE ai_agents 
-            SET name = :name,
-                created_by = :createdBy,
-                website = :website,
-                access = :access,
-                pricing_model = :pricingModel,
-                category = :category,
-                industry = :industry,
-                short_description = :shortDescription,
-                long_description = :longDescription,
-                key_features = :keyFeatures,
-                use_cases = :useCases,
-                tags = :tags,
-                logo = :logo,
-                logo_file_name = :logoFileName,
-                image = :image,
-                image_file_name = :imageFileName,
-                video = :video,
-                upvotes = :upvotes,
-                approved = :approved,
-                created_at = :createdAt,
-                slug = :slug,
-                version = :version,
-                featured = :featured
-            WHERE id = :id
-        """;
+        String tsQuery = toPrefixTsQuery(search);
+        if (tsQuery != null) {
+            conditions.add("a.search_vector @@ to_tsquery('simple', :tsQuery)");
+            params.addValue("tsQuery", tsQuery);
+        }
 
-        MapSqlParameterSource params = createParameterSource(agent)
-            .addValue("id", agent.getId());
+        return conditions;
+    }
 
-        jdbcTemplate.update(sql, params);
-        return agent;
+    public long count() {
+        String sql = "SELECT COUNT(*) FROM ai_agents";
+        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
     }
 
     private MapSqlParameterSource createParameterSource(AIAgent agent) {
@@ -220,7 +513,10 @@ public class JdbcAIAgentRepository {
             .addValue("createdAt", agent.getCreatedAt())
             .addValue("slug", agent.getSlug())
             .addValue("version", agent.getVersion())
-            .addValue("featured", agent.getFeatured());
+            .addValue("featured", agent.getFeatured())
+            .addValue("contentHash", agent.getContentHash() != null
+                ? agent.getContentHash()
+                : AgentContentHash.of(agent));
     }
 
     public List<AgentResearcherResponseDto> findAllByStateAndResearcherId(String state, String researcherId) {
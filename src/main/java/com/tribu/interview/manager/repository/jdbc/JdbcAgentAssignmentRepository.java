@@ -1,23 +1,34 @@
 package com.tribu.interview.manager.repository.jdbc;
 
+import com.tribu.interview.manager.dto.StatsDto;
+import com.tribu.interview.manager.dto.enums.AssignmentCreationStatusEnum;
 import com.tribu.interview.manager.dto.enums.ResearcherTypeEnum;
+import com.tribu.interview.manager.event.AgentAssignmentChangedEvent;
 import com.tribu.interview.manager.model.AgentAssignment;
 import com.tribu.interview.manager.model.AIAgent;
 import com.tribu.interview.manager.model.Researcher;
 import com.tribu.interview.manager.repository.mapper.AgentAssignmentRowMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Repository
@@ -26,6 +37,8 @@ import java.util.UUID;
 public class JdbcAgentAssignmentRepository {
     
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
     private final AgentAssignmentRowMapper rowMapper = new AgentAssignmentRowMapper();
 
     private static final String SELECT_BASE = """
@@ -73,54 +86,271 @@ public class JdbcAgentAssignmentRepository {
         return jdbcTemplate.query(sql, params, rowMapper);
     }
 
-    public AgentAssignment save(AgentAssignment assignment) {
-        if (assignment.getId() == null) {
-            return insert(assignment);
-        }
-        return update(assignment);
-    }
+    private static final String APPLY_COUNTER_DELTA_SQL = """
+        INSERT INTO agent_assignment_counters (agent_id, active_contributors, active_primaries,
+                                               done_assignments, updated_at)
+        VALUES (:agentId, GREATEST(:contributorsDelta, 0), GREATEST(:primariesDelta, 0),
+                GREATEST(:doneDelta, 0), NOW())
+        ON CONFLICT (agent_id) DO UPDATE
+        SET active_contributors = GREATEST(agent_assignment_counters.active_contributors + :contributorsDelta, 0),
+            active_primaries = GREATEST(agent_assignment_counters.active_primaries + :primariesDelta, 0),
+            done_assignments = GREATEST(agent_assignment_counters.done_assignments + :doneDelta, 0),
+            updated_at = NOW()
+        RETURNING done_assignments
+    """;
 
-    private AgentAssignment insert(AgentAssignment assignment) {
-        String sql = """
+    private static final String REBUILD_COUNTERS_SQL = """
+        INSERT INTO agent_assignment_counters (agent_id, active_contributors, active_primaries,
+                                               done_assignments, updated_at)
+        SELECT a.id,
+               COUNT(aa.id) FILTER (WHERE aa.status = 'active'),
+               COUNT(aa.id) FILTER (WHERE aa.status = 'active' AND aa.role = 'PRIMARY'),
+               COUNT(aa.id) FILTER (WHERE aa.status = 'done'),
+               NOW()
+        FROM ai_agents a
+        LEFT JOIN agent_assignments aa ON aa.agent_id = a.id
+        GROUP BY a.id
+        ON CONFLICT (agent_id) DO UPDATE
+        SET active_contributors = EXCLUDED.active_contributors,
+            active_primaries = EXCLUDED.active_primaries,
+            done_assignments = EXCLUDED.done_assignments,
+            updated_at = EXCLUDED.updated_at
+        WHERE agent_assignment_counters.active_contributors <> EXCLUDED.active_contributors
+           OR agent_assignment_counters.active_primaries <> EXCLUDED.active_primaries
+           OR agent_assignment_counters.done_assignments <> EXCLUDED.done_assignments
+    """;
+
+    /*
+     * Alta de una asignación activa en una sola sentencia: comprueba que el agente exista y las
+     * reglas de asignaciones abiertas, inserta solo si todo pasa, y en ese caso actualiza los
+     * contadores del agente y su versión de catálogo. Siempre devuelve una fila con el resultado
+     * de cada comprobación.
+     * Las comprobaciones ven el snapshot de la sentencia; las que se cuelan entre altas
+     * concurrentes las frenan los índices únicos parciales (008-agent-assignment-claims.sql).
+     * La violación no se silencia con ON CONFLICT: createActive la traduce según la restricción.
+     */
+    private static final String CREATE_ACTIVE_SQL = """
+        WITH agent AS (
+            SELECT id FROM ai_agents WHERE id = :agentId
+        ), open_assignments AS (
+            SELECT BOOL_OR(agent_id = :agentId) AS same_agent,
+                   BOOL_OR(role = 'CONTRIBUTOR') AS contribution
+            FROM agent_assignments
+            WHERE investigador_id = :researcherId
+            AND status = 'active'
+        ), checks AS (
+            SELECT EXISTS (SELECT 1 FROM agent) AS agent_found,
+                   COALESCE(o.same_agent, false) AS same_agent_open,
+                   :role = 'CONTRIBUTOR' AND COALESCE(o.contribution, false) AS contribution_open,
+                   :role = 'PRIMARY' AND EXISTS (
+                       SELECT 1 FROM agent_assignments
+                       WHERE agent_id = :agentId AND status = 'active' AND role = 'PRIMARY'
+                   ) AS primary_taken
+            FROM open_assignments o
+        ), inserted AS (
             INSERT INTO agent_assignments (id, investigador_id, agent_id, status, assigned_at, role)
-            VALUES (:id, :researcherId, :agentId, :status, :assignedAt, :role)
-        """;
+            SELECT :id, :researcherId, :agentId, 'active', :assignedAt, :role
+            FROM checks
+            WHERE agent_found AND NOT same_agent_open AND NOT contribution_open AND NOT primary_taken
+            RETURNING agent_id, role
+        ), counters AS (
+            INSERT INTO agent_assignment_counters (agent_id, active_contributors, active_primaries,
+                                                   done_assignments, updated_at)
+            SELECT agent_id, 1, CASE WHEN role = 'PRIMARY' THEN 1 ELSE 0 END, 0, NOW()
+            FROM inserted
+            ON CONFLICT (agent_id) DO UPDATE
+            SET active_contributors = agent_assignment_counters.active_contributors + EXCLUDED.active_contributors,
+                active_primaries = agent_assignment_counters.active_primaries + EXCLUDED.active_primaries,
+                updated_at = NOW()
+        ), bumped AS (
+            UPDATE ai_agents
+            SET catalog_version = next_catalog_version()
+            WHERE id IN (SELECT agent_id FROM inserted)
+        )
+        SELECT c.agent_found, c.same_agent_open, c.contribution_open, c.primary_taken,
+               EXISTS (SELECT 1 FROM inserted) AS created
+        FROM checks c
+    """;
 
-        String id = UUID.randomUUID().toString();
-        MapSqlParameterSource params = createParams(assignment, id);
+    /*
+     * Vence un lote de asignaciones activas anteriores al corte. SKIP LOCKED evita esperar a filas
+     * que otra transacción está modificando (se vencerán en el siguiente lote o ejecución). Las que
+     * tienen una presentación programada que aún no llegó no se vencen: el investigador sigue
+     * trabajando para ella. Las presentaciones programadas de lo vencido se cancelan y devuelven su
+     * lugar en presentation_slots (por día, igual que al generar los cupos). Los contadores y la
+     * versión de catálogo se ajustan una vez por agente dentro de la misma sentencia.
+     */
+    private static final String EXPIRE_BATCH_SQL = """
+        WITH batch AS (
+            SELECT id
+            FROM agent_assignments
+            WHERE status = 'active'
+            AND assigned_at < :cutoff
+            AND NOT EXISTS (
+                SELECT 1
+                FROM presentations p
+                WHERE p.assignment_id = agent_assignments.id
+                AND p.status = 'SCHEDULED'
+                AND p.presentation_date >= :now
+            )
+            ORDER BY assigned_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+        ), expired AS (
+            UPDATE agent_assignments aa
+            SET status = 'expired'
+            FROM batch
+            WHERE aa.id = batch.id
+            RETURNING aa.id, aa.agent_id, aa.investigador_id, aa.role
+        ), per_agent AS (
+            SELECT agent_id,
+                   COUNT(*) AS active_delta,
+                   COUNT(*) FILTER (WHERE role = 'PRIMARY') AS primaries_delta
+            FROM expired
+            GROUP BY agent_id
+        ), counters AS (
+            UPDATE agent_assignment_counters c
+            SET active_contributors = GREATEST(c.active_contributors - p.active_delta, 0),
+                active_primaries = GREATEST(c.active_primaries - p.primaries_delta, 0),
+                updated_at = NOW()
+            FROM per_agent p
+            WHERE c.agent_id = p.agent_id
+        ), bumped AS (
+            UPDATE ai_agents
+            SET catalog_version = next_catalog_version()
+            WHERE id IN (SELECT agent_id FROM per_agent)
+        ), cancelled AS (
+            UPDATE presentations p
+            SET status = 'CANCELLED'
+            FROM expired
+            WHERE p.assignment_id = expired.id
+            AND p.status = 'SCHEDULED'
+            RETURNING p.presentation_date
+        ), per_day AS (
+            SELECT CAST(presentation_date AS DATE) AS day, COUNT(*) AS total
+            FROM cancelled
+            GROUP BY CAST(presentation_date AS DATE)
+        ), released AS (
+            UPDATE presentation_slots s
+            SET used = GREATEST(s.used - d.total, 0)
+            FROM per_day d
+            WHERE s.slot_date >= d.day
+            AND s.slot_date < d.day + 1
+        )
+        SELECT id, agent_id, investigador_id, role
+        FROM expired
+    """;
 
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(sql, params, keyHolder);
-        
-        assignment.setId(id);
-        return assignment;
-    }
+    private static final String STATS_SQL = """
+        SELECT (SELECT COUNT(*) FROM ai_agents) AS total_agents,
+               (SELECT COUNT(*) FROM agent_assignments WHERE status = 'active') AS active_investigators,
+               (SELECT COUNT(DISTINCT agent_id) FROM agent_assignments WHERE status = 'done') AS documented_agents
+    """;
 
-    private AgentAssignment update(AgentAssignment assignment) {
+    /**
+     * Comprobación previa, sin transacción ni bloqueos, de que el agente existe y, para PRIMARY,
+     * de que aún no tiene investigador principal. Sirve para rechazar pronto una petición antes de
+     * trabajo caro (la llamada a GitHub); no sustituye a {@link #createActive}, que lo vuelve a
+     * validar todo.
+     *
+     * @return AGENT_NOT_FOUND o PRIMARY_TAKEN, o vacío si la asignación puede intentarse
+     */
+    public Optional<AssignmentCreationStatusEnum> precheckActive(String agentId, String role) {
         String sql = """
-            UPDATE agent_assignments 
-            SET investigador_id = :researcherId,
-                agent_id = :agentId,
-                status = :status,
-                role = :role,
-                assigned_at = :assignedAt
-            WHERE id = :id
+            SELECT EXISTS (SELECT 1 FROM ai_agents WHERE id = :agentId) AS agent_found,
+                   EXISTS (SELECT 1 FROM agent_assignments
+                           WHERE agent_id = :agentId AND status = 'active' AND role = 'PRIMARY') AS primary_taken
         """;
-
-        MapSqlParameterSource params = createParams(assignment, assignment.getId());
-
-        jdbcTemplate.update(sql, params);
-        return assignment;
+        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("agentId", agentId), (rs, rowNum) -> {
+            if (!rs.getBoolean("agent_found")) {
+                return Optional.of(AssignmentCreationStatusEnum.AGENT_NOT_FOUND);
+            }
+            if (ResearcherTypeEnum.PRIMARY.name().equals(role) && rs.getBoolean("primary_taken")) {
+                return Optional.of(AssignmentCreationStatusEnum.PRIMARY_TAKEN);
+            }
+            return Optional.empty();
+        });
     }
 
-    private MapSqlParameterSource createParams(AgentAssignment assignment, String id) {
-        return new MapSqlParameterSource()
+    /**
+     * Crea una asignación activa validando agente y reglas en un único round trip (ver
+     * {@link #CREATE_ACTIVE_SQL}). Si se crea, completa id, status y assignedAt de la asignación.
+     * Las reglas no se comprueban si el agente no existe; si hay contribución abierta se informa
+     * antes que la asignación repetida, igual que en la validación anterior.
+     *
+     * Si una alta concurrente gana la carrera, el índice único que salta dice qué regla se
+     * incumple. La sentencia va en un savepoint para que la transacción del llamador siga usable.
+     *
+     * @return CREATED, o el motivo por el que no se creó
+     */
+    @Transactional
+    public AssignmentCreationStatusEnum createActive(AgentAssignment assignment) {
+        String id = UUID.randomUUID().toString();
+        LocalDateTime assignedAt = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
             .addValue("id", id)
             .addValue("researcherId", assignment.getResearcher().getId())
             .addValue("agentId", assignment.getAgent().getId())
-            .addValue("status", assignment.getStatus())
             .addValue("role", assignment.getRole())
-            .addValue("assignedAt", assignment.getAssignedAt());
+            .addValue("assignedAt", assignedAt);
+
+        AssignmentCreationStatusEnum result;
+        try {
+            result = savepointTemplate().execute(status -> runCreateActive(params));
+        } catch (DuplicateKeyException e) {
+            result = claimConflictStatus(e);
+        }
+
+        if (result == AssignmentCreationStatusEnum.CREATED) {
+            assignment.setId(id);
+            assignment.setStatus("active");
+            assignment.setAssignedAt(assignedAt);
+            publishAssignmentChanged(assignment, null, 0);
+        }
+        return result;
+    }
+
+    private AssignmentCreationStatusEnum runCreateActive(MapSqlParameterSource params) {
+        return jdbcTemplate.queryForObject(CREATE_ACTIVE_SQL, params, (rs, rowNum) -> {
+            if (rs.getBoolean("created")) {
+                return AssignmentCreationStatusEnum.CREATED;
+            }
+            if (!rs.getBoolean("agent_found")) {
+                return AssignmentCreationStatusEnum.AGENT_NOT_FOUND;
+            }
+            if (rs.getBoolean("contribution_open")) {
+                return AssignmentCreationStatusEnum.CONTRIBUTION_OPEN;
+            }
+            if (rs.getBoolean("same_agent_open")) {
+                return AssignmentCreationStatusEnum.SAME_AGENT_OPEN;
+            }
+            return AssignmentCreationStatusEnum.PRIMARY_TAKEN;
+        });
+    }
+
+    // PROPAGATION_NESTED: dentro de una transacción abre un savepoint y, si la sentencia falla, vuelve a él
+    private TransactionTemplate savepointTemplate() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        return template;
+    }
+
+    // El nombre de la restricción aparece en el mensaje de PostgreSQL sea cual sea el idioma del servidor
+    private AssignmentCreationStatusEnum claimConflictStatus(DuplicateKeyException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (message.contains("uq_agent_assignments_active_primary")) {
+            return AssignmentCreationStatusEnum.PRIMARY_TAKEN;
+        }
+        if (message.contains("uq_agent_assignments_active_contribution")) {
+            return AssignmentCreationStatusEnum.CONTRIBUTION_OPEN;
+        }
+        if (message.contains("uq_agent_assignments_active_pair")) {
+            return AssignmentCreationStatusEnum.SAME_AGENT_OPEN;
+        }
+        if (message.contains("unique_assignment_pair")) {
+            return AssignmentCreationStatusEnum.DUPLICATE_ASSIGNMENT;
+        }
+        throw e;
     }
 
     public long countByStatus(String status) {
@@ -198,51 +428,163 @@ public class JdbcAgentAssignmentRepository {
         }
     }
 
-    public boolean existsByResearcherIdAndAgentId(String researcherId, String agentId) {
+    @Transactional
+    public boolean updateStatusById(String id, String status) {
         String sql = """
-            SELECT COUNT(*)
-            FROM agent_assignments
-            WHERE investigador_id = :researcherId
-            AND agent_id = :agentId
-            AND status = 'active'
+            UPDATE agent_assignments aa
+            SET status = :status
+            FROM (
+                SELECT id, status AS previous_status
+                FROM agent_assignments
+                WHERE id = :id
+                FOR UPDATE
+            ) prev
+            WHERE aa.id = prev.id
+            RETURNING aa.agent_id, aa.investigador_id, aa.role, prev.previous_status
         """;
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("status", status);
 
+        List<AgentAssignment> previous = jdbcTemplate.query(sql, params, (rs, rowNum) -> AgentAssignment.builder()
+            .id(id)
+            .researcher(Researcher.builder().id(rs.getString("investigador_id")).build())
+            .agent(AIAgent.builder().id(rs.getString("agent_id")).build())
+            .status(rs.getString("previous_status"))
+            .role(rs.getString("role"))
+            .build());
+
+        previous.forEach(old -> {
+            int documentedDelta = applyCounterDelta(old.getAgent().getId(), old.getStatus(), old.getRole(), -1)
+                + applyCounterDelta(old.getAgent().getId(), status, old.getRole(), 1);
+            bumpCatalogVersion(old.getAgent().getId());
+            String previousStatus = old.getStatus();
+            old.setStatus(status);
+            publishAssignmentChanged(old, previousStatus, documentedDelta);
+        });
+        return !previous.isEmpty();
+    }
+
+    /**
+     * Pasa a "expired" hasta {@code batchSize} asignaciones activas con assigned_at anterior a
+     * {@code cutoff}. No publica eventos por asignación: quien llama publica uno agregado.
+     *
+     * @return las asignaciones vencidas (id, agente, investigador y rol)
+     */
+    public List<AgentAssignment> expireActiveAssignedBefore(LocalDateTime cutoff, LocalDateTime now, int batchSize) {
         MapSqlParameterSource params = new MapSqlParameterSource()
-            .addValue("researcherId", researcherId)
-            .addValue("agentId", agentId);
+            .addValue("cutoff", cutoff)
+            .addValue("now", now)
+            .addValue("batchSize", batchSize);
 
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
+        return jdbcTemplate.query(EXPIRE_BATCH_SQL, params, (rs, rowNum) -> AgentAssignment.builder()
+            .id(rs.getString("id"))
+            .agent(AIAgent.builder().id(rs.getString("agent_id")).build())
+            .researcher(Researcher.builder().id(rs.getString("investigador_id")).build())
+            .role(rs.getString("role"))
+            .status("expired")
+            .build());
     }
 
-    public boolean existsByResearcherIdAndAgentIdWhitContributorRole(String researcherId) {
-        String role = ResearcherTypeEnum.CONTRIBUTOR.name();
+    private void publishAssignmentChanged(AgentAssignment assignment, String previousStatus, int documentedDelta) {
+        eventPublisher.publishEvent(AgentAssignmentChangedEvent.builder()
+            .assignmentId(assignment.getId())
+            .agentId(assignment.getAgent().getId())
+            .researcherId(assignment.getResearcher() != null ? assignment.getResearcher().getId() : null)
+            .role(assignment.getRole())
+            .previousStatus(previousStatus)
+            .status(assignment.getStatus())
+            .documentedDelta(documentedDelta)
+            .build());
+    }
 
-        String sql = """
-            SELECT COUNT(*)
-            FROM agent_assignments
-            WHERE investigador_id = :researcherId
-            AND status = 'active'
-            AND role = :role
-        """;
+    /**
+     * Suma (o resta) una asignación a los contadores del agente. Solo cuentan las asignaciones
+     * activas y las terminadas; el upsert bloquea la fila del contador, así que escrituras
+     * concurrentes se serializan.
+     *
+     * @return 1 si el agente acaba de quedar documentado, -1 si deja de estarlo, 0 en otro caso
+     */
+    private int applyCounterDelta(String agentId, String status, String role, int sign) {
+        boolean active = "active".equals(status);
+        boolean done = "done".equals(status);
+        if (agentId == null || (!active && !done)) {
+            return 0;
+        }
 
         MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("researcherId", researcherId)
-                .addValue("role", role);
+            .addValue("agentId", agentId)
+            .addValue("contributorsDelta", active ? sign : 0)
+            .addValue("primariesDelta", active && ResearcherTypeEnum.PRIMARY.name().equals(role) ? sign : 0)
+            .addValue("doneDelta", done ? sign : 0);
+
+        Integer doneAssignments = jdbcTemplate.queryForObject(APPLY_COUNTER_DELTA_SQL, params, Integer.class);
+        if (!done || doneAssignments == null) {
+            return 0;
+        }
+        if (sign > 0 && doneAssignments == 1) {
+            return 1;
+        }
+        return sign < 0 && doneAssignments == 0 ? -1 : 0;
+    }
 
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
+    // La asignación forma parte del registro del agente, así que también cuenta como cambio del catálogo
+    private void bumpCatalogVersion(String agentId) {
+        if (agentId == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE ai_agents SET catalog_version = next_catalog_version() WHERE id = :agentId",
+            new MapSqlParameterSource("agentId", agentId));
     }
 
-    public boolean updateStatusById(String id, String status) {
-        String sql = "UPDATE agent_assignments SET status = :status WHERE id = :id";
-        
-        MapSqlParameterSource params = new MapSqlParameterSource()
-            .addValue("id", id)
-            .addValue("status", status);
+    /**
+     * Estadísticas globales calculadas directamente sobre las tablas; solo se usa para reconciliar
+     * los contadores en memoria.
+     */
+    public StatsDto computeStats() {
+        return jdbcTemplate.queryForObject(STATS_SQL, new MapSqlParameterSource(), (rs, rowNum) -> StatsDto.builder()
+            .total_agents(rs.getLong("total_agents"))
+            .active_investigators(rs.getLong("active_investigators"))
+            .documented_agents(rs.getLong("documented_agents"))
+            .build());
+    }
+
+    /**
+     * Asignaciones que 008-agent-assignment-claims.sql venció por incumplir una regla y que aún no
+     * se habían informado, agrupadas por regla; quedan marcadas como informadas.
+     */
+    public Map<String, List<String>> takeUnreportedRepairs() {
+        String sql = """
+            UPDATE agent_assignment_repairs
+            SET reported_at = NOW()
+            WHERE reported_at IS NULL
+            RETURNING assignment_id, rule
+        """;
+        Map<String, List<String>> byRule = new TreeMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource(), rs -> {
+            byRule.computeIfAbsent(rs.getString("rule"), rule -> new ArrayList<>()).add(rs.getString("assignment_id"));
+        });
+        return byRule;
+    }
 
-        int rowsAffected = jdbcTemplate.update(sql, params);
-        return rowsAffected > 0;
+    /**
+     * Recalcula en bloque los contadores de todos los agentes a partir de agent_assignments.
+     * El LOCK en modo SHARE espera a las escrituras en curso y las bloquea mientras dura el
+     * recálculo, de modo que ningún delta se pierde.
+     *
+     * @return número de contadores corregidos o creados
+     */
+    @Transactional
+    public int rebuildCounters() {
+        jdbcTemplate.getJdbcOperations().execute("LOCK TABLE agent_assignments IN SHARE MODE");
+
+        int corrected = jdbcTemplate.update(REBUILD_COUNTERS_SQL, new MapSqlParameterSource());
+        jdbcTemplate.update("""
+            DELETE FROM agent_assignment_counters c
+            WHERE NOT EXISTS (SELECT 1 FROM ai_agents a WHERE a.id = c.agent_id)
+        """, new MapSqlParameterSource());
+        return corrected;
     }
 
     private AgentAssignment mapToAgentAssignment(ResultSet rs, int rowNum) throws SQLException {
@@ -2,10 +2,12 @@ package com.tribu.interview.manager.repository.jdbc;
 
 import com.tribu.interview.manager.dto.CalendarPresentationDto;
 import com.tribu.interview.manager.dto.enums.PresentationStatusEnum;
+import com.tribu.interview.manager.event.ResearcherChangedEvent;
 import com.tribu.interview.manager.model.*;
 import com.tribu.interview.manager.repository.mapper.CalendarPresentationMapper;
 import com.tribu.interview.manager.repository.mapper.PresentationRowMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -24,6 +26,7 @@ import java.util.UUID;
 public class JdbcPresentationRepository {
     
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     private final PresentationRowMapper rowMapper = new PresentationRowMapper();
 
     private static final String SELECT_BASE = """
@@ -59,6 +62,7 @@ public class JdbcPresentationRepository {
             INNER JOIN investigadores i ON aa.investigador_id = i.id
             INNER JOIN ai_agents ag ON aa.agent_id = ag.id
             WHERE p.presentation_date BETWEEN :startDate AND :endDate
+            AND p.status IS DISTINCT FROM 'CANCELLED'
             ORDER BY p.presentation_date ASC
         """;
         
@@ -80,11 +84,6 @@ public class JdbcPresentationRepository {
         );
     }
 
-    public Optional<LocalDateTime> findLatestPresentationDate() {
-        String sql = "SELECT MAX(presentation_date) FROM presentations";
-        return Optional.ofNullable(jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), LocalDateTime.class));
-    }
-
     public Presentation save(Presentation presentation) {
         if (presentation.getId() == null) {
             return insert(presentation);
@@ -108,6 +107,7 @@ public class JdbcPresentationRepository {
         jdbcTemplate.update(sql, params, keyHolder);
         
         presentation.setId(id);
+        publishResearcherChanged(presentation);
         return presentation;
     }
 
@@ -128,9 +128,15 @@ public class JdbcPresentationRepository {
             .addValue("id", presentation.getId());
 
         jdbcTemplate.update(sql, params);
+        publishResearcherChanged(presentation);
         return presentation;
     }
 
+    private void publishResearcherChanged(Presentation presentation) {
+        Researcher researcher = presentation.getAssignment().getResearcher();
+        eventPublisher.publishEvent(new ResearcherChangedEvent(researcher != null ? researcher.getId() : null));
+    }
+
     private MapSqlParameterSource createParameterSource(Presentation presentation) {
         return new MapSqlParameterSource()
             .addValue("id", presentation.getId())
@@ -168,6 +174,7 @@ public class JdbcPresentationRepository {
             INNER JOIN investigadores i ON aa.investigador_id = i.id
             INNER JOIN ai_agents ag ON aa.agent_id = ag.id
             WHERE i.id = :researcherId
+            AND p.status IS DISTINCT FROM 'CANCELLED'
             ORDER BY p.presentation_date ASC
             LIMIT 1
         """;
@@ -217,80 +224,4 @@ public class JdbcPresentationRepository {
         }
     }
 
-
-    public List<Presentation> findPresentationsByAssignmentIds(List<String> assignmentIds) {
-        if (assignmentIds == null || assignmentIds.isEmpty()) {
-            return List.of();
-        }
-
-        String sql = """
-            SELECT 
-                p.id,
-                p.presentation_date,
-                p.status,
-                p.presentation_week,
-                p.video_url,
-                p.votes_count,
-                p.is_winner,
-                aa.id as assignment_id,
-                i.id as researcher_id,
-                i.name as researcher_name,
-                i.avatar_url as researcher_avatar_url,
-                i.repository_url as researcher_repository_url,
-                i.linkedin_profile as researcher_linkedin_url,
-                ag.id as agent_id,
-                ag.name as agent_name,
-                ag.short_description as agent_description,
-                ag.category as agent_category,
-                ag.industry as agent_industry,
-                p.show_order
-            FROM presentations p
-            INNER JOIN agent_assignments aa ON p.assignment_id = aa.id
-            INNER JOIN investigadores i ON aa.investigador_id = i.id
-            INNER JOIN ai_agents ag ON aa.agent_id = ag.id
-            WHERE aa.id IN (:assignmentIds)
-            ORDER BY p.presentation_date DESC
-        """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource()
-            .addValue("assignmentIds", assignmentIds);
-        
-        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
-            // Construir el investigador
-            Researcher researcher = Researcher.builder()
-                    .id(rs.getString("researcher_id"))
-                    .name(rs.getString("researcher_name"))
-                    .avatarUrl(rs.getString("researcher_avatar_url"))
-                    .repositoryUrl(rs.getString("researcher_repository_url"))
-                    .linkedinProfile(rs.getString("researcher_linkedin_url"))
-                    .build();
-
-            // Construir el agente
-            AIAgent agent = AIAgent.builder()
-                    .id(rs.getString("agent_id"))
-                    .name(rs.getString("agent_name"))
-                    .build();
-
-            // Construir la asignación
-            AgentAssignment assignment = AgentAssignment.builder()
-                    .id(rs.getString("assignment_id"))
-                    .researcher(researcher)
-                    .agent(agent)
-                    .build();
-
-            // Construir la presentación
-            return Presentation.builder()
-                    .id(rs.getString("id"))
-                    .assignment(assignment)
-                    .presentationDate(rs.getTimestamp("presentation_date").toLocalDateTime())
-                    .status(rs.getString("status"))
-                    .presentationWeek(rs.getInt("presentation_week"))
-                    .videoUrl(rs.getString("video_url"))
-                    .votesCount(rs.getInt("votes_count"))
-                    .isWinner(rs.getBoolean("is_winner"))
-                    .showOrder(rs.getInt("show_order"))
-                    .build();
-        });
-    }
-
 } 
\ No newline at end of file
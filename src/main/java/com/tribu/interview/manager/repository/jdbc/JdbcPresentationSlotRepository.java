@@ -0,0 +1,119 @@
+package com.tribu.interview.manager.repository.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcPresentationSlotRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /*
+     * Crea los cupos semanales que falten entre :from y :to. Los cupos nuevos arrancan con las
+     * presentaciones no canceladas que ya existan ese día (de antes de la tabla de cupos); si eran
+     * más que la capacidad, la capacidad del cupo se ajusta a ellas para no violar el CHECK.
+     */
+    private static final String GENERATE_SQL = """
+        INSERT INTO presentation_slots (slot_date, capacity, used)
+        SELECT d, GREATEST(:capacity, existing.total), existing.total
+        FROM generate_series(CAST(:from AS TIMESTAMP), CAST(:to AS TIMESTAMP), INTERVAL '7 days') AS d
+        CROSS JOIN LATERAL (
+            SELECT COUNT(*) AS total
+            FROM presentations p
+            WHERE p.presentation_date >= CAST(d AS DATE)
+            AND p.presentation_date < CAST(d AS DATE) + 1
+            AND p.status IS DISTINCT FROM 'CANCELLED'
+        ) existing
+        ON CONFLICT (slot_date) DO NOTHING
+    """;
+
+    /*
+     * Reserva atómica: el UPDATE vuelve a comprobar used < capacity después de obtener el bloqueo
+     * de la fila, así que dos reservas concurrentes nunca superan la capacidad. Si otra reserva
+     * llenó el cupo elegido entre la subconsulta y el UPDATE no se actualiza nada y quien llama
+     * reintenta.
+     */
+    private static final String CLAIM_SQL = """
+        UPDATE presentation_slots
+        SET used = used + 1
+        WHERE slot_date = (
+            SELECT slot_date
+            FROM presentation_slots
+            WHERE slot_date >= :from
+            AND used < capacity
+            ORDER BY slot_date
+            LIMIT 1
+        )
+        AND used < capacity
+        RETURNING slot_date
+    """;
+
+    /*
+     * Recalcula used como el número de presentaciones no canceladas de cada día, con el mismo
+     * criterio que GENERATE_SQL. Solo toca los cupos que difieren.
+     */
+    private static final String RECONCILE_SQL = """
+        UPDATE presentation_slots s
+        SET used = c.total,
+            capacity = GREATEST(s.capacity, c.total)
+        FROM (
+            SELECT ps.slot_date, COUNT(p.id) AS total
+            FROM presentation_slots ps
+            LEFT JOIN presentations p
+                ON p.presentation_date >= CAST(ps.slot_date AS DATE)
+                AND p.presentation_date < CAST(ps.slot_date AS DATE) + 1
+                AND p.status IS DISTINCT FROM 'CANCELLED'
+            GROUP BY ps.slot_date
+        ) c
+        WHERE s.slot_date = c.slot_date
+        AND s.used <> c.total
+    """;
+
+    /**
+     * @return cuántos cupos se crearon
+     */
+    public int generateWeekly(LocalDateTime from, LocalDateTime to, int capacity) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("from", from)
+            .addValue("to", to)
+            .addValue("capacity", capacity);
+        return jdbcTemplate.update(GENERATE_SQL, params);
+    }
+
+    /**
+     * Reserva un lugar en el primer cupo con capacidad libre a partir de {@code from}.
+     *
+     * @return la fecha del cupo reservado, o vacío si no hay ninguno libre o se perdió la carrera
+     */
+    public Optional<LocalDateTime> claimFirstOpen(LocalDateTime from) {
+        List<LocalDateTime> claimed = jdbcTemplate.query(CLAIM_SQL, new MapSqlParameterSource("from", from),
+            (rs, rowNum) -> rs.getObject("slot_date", LocalDateTime.class));
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Corrige el uso de los cupos a partir de las presentaciones. El LOCK espera a las reservas y
+     * liberaciones en curso (que siempre actualizan presentation_slots en la misma transacción que
+     * la presentación) y las bloquea mientras dura el recálculo, de modo que ninguna se pierde.
+     *
+     * @return número de cupos corregidos
+     */
+    @Transactional
+    public int reconcileUsed() {
+        jdbcTemplate.getJdbcOperations().execute("LOCK TABLE presentation_slots IN SHARE ROW EXCLUSIVE MODE");
+        return jdbcTemplate.update(RECONCILE_SQL, new MapSqlParameterSource());
+    }
+
+    public boolean hasOpenSlotFrom(LocalDateTime from) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM presentation_slots WHERE slot_date >= :from AND used < capacity)";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("from", from), Boolean.class));
+    }
+}
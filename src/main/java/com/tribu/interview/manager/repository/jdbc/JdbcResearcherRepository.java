@@ -1,15 +1,26 @@
 package com.tribu.interview.manager.repository.jdbc;
 
+import com.tribu.interview.manager.dto.AgentResearcherResponseDto;
+import com.tribu.interview.manager.event.ResearcherChangedEvent;
+import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.model.AgentAssignment;
+import com.tribu.interview.manager.model.Presentation;
 import com.tribu.interview.manager.model.Researcher;
+import com.tribu.interview.manager.model.ResearcherDetails;
 import com.tribu.interview.manager.repository.mapper.ResearcherRowMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.dao.EmptyResultDataAccessException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +29,7 @@ import java.util.UUID;
 public class JdbcResearcherRepository {
     
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     private final ResearcherRowMapper rowMapper = new ResearcherRowMapper();
 
     private static final String SELECT_BASE = """
@@ -49,6 +61,36 @@ public class JdbcResearcherRepository {
         WHERE id = :id
     """;
 
+    /*
+     * Detalle completo del investigador en una sola consulta: una fila por cada par
+     * (investigación, presentación). Los LEFT JOIN mantienen al investigador aunque no tenga
+     * investigaciones, y solo las investigaciones primarias aportan presentaciones.
+     */
+    private static final String DETAILS_SQL = """
+        SELECT
+            i.id, i.name, i.email, i.phone, i.github_username, i.avatar_url,
+            i.repository_url, i.linkedin_profile, i.current_rol, i.created_at,
+            aa.id AS assignment_id,
+            aa.role AS assignment_role,
+            aa.status AS assignment_status,
+            a.id AS agent_id,
+            a.name AS agent_name,
+            a.short_description AS agent_description,
+            a.category AS agent_category,
+            a.industry AS agent_industry,
+            p.id AS presentation_id,
+            p.presentation_date,
+            p.presentation_week,
+            p.show_order
+        FROM investigadores i
+        LEFT JOIN (agent_assignments aa JOIN ai_agents a ON a.id = aa.agent_id)
+            ON aa.investigador_id = i.id AND aa.status IN ('active', 'done')
+        LEFT JOIN presentations p
+            ON p.assignment_id = aa.id AND UPPER(aa.role) = 'PRIMARY'
+        WHERE i.email = :email
+        ORDER BY aa.assigned_at, aa.id
+    """;
+
     public Optional<Researcher> findById(String id) {
         String sql = SELECT_BASE + " WHERE id = :id";
         
@@ -99,6 +141,60 @@ public class JdbcResearcherRepository {
         }
     }
 
+    public Optional<ResearcherDetails> findDetailsByEmail(String email) {
+        return Optional.ofNullable(jdbcTemplate.query(DETAILS_SQL, new MapSqlParameterSource("email", email), rs -> {
+            Researcher researcher = null;
+            Map<String, AgentResearcherResponseDto> researches = new LinkedHashMap<>();
+            List<Presentation> presentations = new ArrayList<>();
+
+            while (rs.next()) {
+                if (researcher == null) {
+                    researcher = rowMapper.mapRow(rs, 0);
+                }
+                String assignmentId = rs.getString("assignment_id");
+                if (assignmentId == null) {
+                    continue;
+                }
+                if (!researches.containsKey(assignmentId)) {
+                    researches.put(assignmentId, AgentResearcherResponseDto.builder()
+                        .id(rs.getString("agent_id"))
+                        .name(rs.getString("agent_name"))
+                        .shortDescription(rs.getString("agent_description"))
+                        .category(rs.getString("agent_category"))
+                        .industry(rs.getString("agent_industry"))
+                        .role(rs.getString("assignment_role"))
+                        .assignmentId(assignmentId)
+                        .status(rs.getString("assignment_status"))
+                        .build());
+                }
+                if (rs.getString("presentation_id") != null) {
+                    presentations.add(Presentation.builder()
+                        .id(rs.getString("presentation_id"))
+                        .assignment(AgentAssignment.builder()
+                            .id(assignmentId)
+                            .agent(AIAgent.builder().id(rs.getString("agent_id")).build())
+                            .build())
+                        .presentationDate(rs.getObject("presentation_date", LocalDateTime.class))
+                        .presentationWeek(rs.getObject("presentation_week", Integer.class))
+                        .showOrder(rs.getObject("show_order", Integer.class))
+                        .build());
+                }
+            }
+
+            if (researcher == null) {
+                return null;
+            }
+            // presentation_date DESC con los NULL primero, como ORDER BY presentation_date DESC
+            presentations.sort(Comparator.comparing(Presentation::getPresentationDate,
+                Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder())).reversed());
+            return ResearcherDetails.builder()
+                .researcher(researcher)
+                .researches(new ArrayList<>(researches.values()))
+                .presentations(presentations)
+                .build();
+        }));
+    }
+
     public List<Researcher> findAll() {
         return jdbcTemplate.query(SELECT_BASE, rowMapper);
     }
@@ -119,6 +215,7 @@ public class JdbcResearcherRepository {
 
         jdbcTemplate.update(sql, params);
         researcher.setId(id);
+        eventPublisher.publishEvent(new ResearcherChangedEvent(id));
         return researcher;
     }
 
@@ -129,6 +226,7 @@ public class JdbcResearcherRepository {
             .addValue("id", researcher.getId());
 
         jdbcTemplate.update(sql, params);
+        eventPublisher.publishEvent(new ResearcherChangedEvent(researcher.getId()));
         return researcher;
     }
 
@@ -35,10 +35,14 @@ public class AIAgentRowMapper implements RowMapper<AIAgent> {
             .slug(rs.getString("slug"))
             .version(rs.getString("version"))
             .featured(rs.getBoolean("featured"))
+            .catalogVersion(rs.getLong("catalog_version"))
             .assignmentStatus(rs.getString("assignment_status"))
             .assignedAt(rs.getObject("assigned_at", LocalDateTime.class))
             .assignedToName(rs.getString("assigned_to_name"))
             .assignedToEmail(rs.getString("assigned_to_email"))
+            .assignedRole(rs.getString("assignment_role"))
+            .totalContributors(rs.getInt("total_contributors"))
+            .primaryAssigned(rs.getBoolean("primary_assigned"))
             .build();
     }
 } 
\ No newline at end of file
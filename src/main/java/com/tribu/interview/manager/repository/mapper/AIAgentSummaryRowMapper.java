@@ -0,0 +1,35 @@
+package com.tribu.interview.manager.repository.mapper;
+
+import com.tribu.interview.manager.model.AIAgent;
+import org.springframework.jdbc.core.RowMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de resumen para listados: solo las columnas que muestra la vista de lista,
+ * sin los campos de texto largos. El resto de campos del agente quedan en null.
+ */
+public class AIAgentSummaryRowMapper implements RowMapper<AIAgent> {
+
+    @Override
+    public AIAgent mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return AIAgent.builder()
+            .id(rs.getString("id"))
+            .name(rs.getString("name"))
+            .category(rs.getString("category"))
+            .industry(rs.getString("industry"))
+            .shortDescription(rs.getString("short_description"))
+            .logo(rs.getString("logo"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .slug(rs.getString("slug"))
+            .assignmentStatus(rs.getString("assignment_status"))
+            .assignedAt(rs.getObject("assigned_at", LocalDateTime.class))
+            .assignedToName(rs.getString("assigned_to_name"))
+            .assignedToEmail(rs.getString("assigned_to_email"))
+            .assignedRole(rs.getString("assignment_role"))
+            .totalContributors(rs.getInt("total_contributors"))
+            .primaryAssigned(rs.getBoolean("primary_assigned"))
+            .build();
+    }
+}
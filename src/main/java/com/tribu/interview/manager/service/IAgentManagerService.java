@@ -1,26 +1,57 @@
 package com.tribu.interview.manager.service;
 
 import com.tribu.interview.manager.dto.*;
-import com.tribu.interview.manager.model.AIAgent;
 import jakarta.validation.Valid;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface IAgentManagerService {
-    List<AIAgent> processJsonData(AgentUploadRequest jsonItems);
+    /**
+     * Carga masiva transaccional por bloques. Las filas sin cambios de contenido se omiten;
+     * devuelve los conteos de insertadas/actualizadas/sin cambios/rechazadas en lugar de los agentes.
+     */
+    BulkIngestionReport processJsonData(AgentUploadRequest jsonItems);
+
+    /**
+     * Carga masiva leyendo el cuerpo en streaming, en formato JSON (misma forma que
+     * AgentUploadRequest) o NDJSON (un agente por línea).
+     */
+    BulkIngestionReport ingestStream(InputStream body, boolean ndjson);
     MetadataResponse getMetadata();
 
 
     /**
      * Esto sirve para que las personas sean mas pros
-     * @param page
+     * @param page página legacy (1-based), resuelta con un OFFSET acotado
      * @param pageSize
+     * @param cursor token opaco devuelto en nextCursor; si llega, tiene prioridad sobre page
+     * @param includeTotal si se calcula totalElements/totalPages (un COUNT adicional)
      * @param category
      * @param industry
      * @param search
      * @return
      */
-    PaginatedAgentResponse getAgents(int page, int pageSize, String category, String industry, String search);
+    PaginatedAgentResponse getAgents(int page, int pageSize, String cursor, boolean includeTotal,
+                                     String category, String industry, String search);
+
+    /**
+     * Conteos por categoría, industria y asignado/no asignado con los mismos filtros que getAgents.
+     */
+    AgentFacetsDto getFacets(String category, String industry, String search);
+
+    /**
+     * Sincronización incremental: agentes modificados (incluidos cambios de asignación) y
+     * borrados con versión de catálogo mayor que {@code since}.
+     * @param limit máximo de elementos (cambios + borrados) por respuesta; null usa el valor por defecto
+     */
+    AgentChangesResponse getChanges(long since, Integer limit);
+
+    /**
+     * Registro completo del agente; los listados solo devuelven la proyección de resumen.
+     * @param idOrSlug id del agente o, si no existe ese id, su slug
+     */
+    AgentWithAssignmentDto getAgent(String idOrSlug);
 
     List<AgentResearcherResponseDto> getActiveAgents(String state, String email);
 
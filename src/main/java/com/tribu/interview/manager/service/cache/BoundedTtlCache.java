@@ -0,0 +1,208 @@
+package com.tribu.interview.manager.service.cache;
+
+import com.tribu.interview.manager.dto.CacheStatsDto;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Caché en memoria acotada en tamaño (LRU) y con expiración por entrada. Pensada para pocos miles
+ * de entradas: todas las operaciones toman el mismo lock, pero las cargas se hacen fuera de él.
+ * Las cargas son single-flight: mientras una clave se está cargando, el resto de peticiones de
+ * esa clave esperan su resultado (o su excepción) en lugar de lanzar otra carga.
+ * Las invalidaciones incrementan una época; una carga que empezó antes de una invalidación
+ * devuelve su valor pero no lo guarda, para no volver a cachear datos ya obsoletos.
+ */
+public class BoundedTtlCache<K, V> {
+    private final String name;
+    private final int maxSize;
+    private final Duration ttl;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    // Cargas en curso por clave: las peticiones concurrentes de la misma clave esperan la misma
+    private final Map<K, Load<V>> loading = new HashMap<>();
+    private long epoch;
+
+    public BoundedTtlCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean evict = size() > BoundedTtlCache.this.maxSize;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * @return el valor cacheado, o null si no está o ha expirado (cuenta como fallo)
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        if (entry != null) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga con {@code loader}. Los valores null no se cachean.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        return getOrLoad(key, loader, value -> ttl);
+    }
+
+    /**
+     * Como {@link #getOrLoad(Object, Function)} pero con TTL por valor (p. ej. más corto para
+     * resultados negativos). Si {@code ttlFor} devuelve null el valor no se cachea.
+     */
+    public V getOrLoad(K key, Function<K, V> loader, Function<V, Duration> ttlFor) {
+        Load<V> load;
+        boolean leader;
+        synchronized (this) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            Load<V> running = loading.get(key);
+            // Una carga empezada antes de la última invalidación no sirve a quien llega después
+            leader = running == null || running.epoch != epoch;
+            if (leader) {
+                load = new Load<>(new CompletableFuture<>(), epoch);
+                loading.put(key, load);
+            } else {
+                coalesced.incrementAndGet();
+                load = running;
+            }
+        }
+        return leader ? loadAndPublish(key, load, loader, ttlFor) : await(load.result);
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttl);
+    }
+
+    public synchronized void put(K key, V value, Duration entryTtl) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + entryTtl.toNanos()));
+    }
+
+    public synchronized void invalidate(K key) {
+        epoch++;
+        if (entries.remove(key) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        epoch++;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value)) {
+                it.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        epoch++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized CacheStatsDto stats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return CacheStatsDto.builder()
+            .name(name)
+            .size(entries.size())
+            .maxSize(maxSize)
+            .ttlSeconds(ttl.toSeconds())
+            .hits(hitCount)
+            .misses(misses.get())
+            .hitRatio(total == 0 ? 0 : (double) hitCount / total)
+            .evictions(evictions.get())
+            .expirations(expirations.get())
+            .invalidations(invalidations.get())
+            .loadsInFlight(loading.size())
+            .coalescedLoads(coalesced.get())
+            .build();
+    }
+
+    /*
+     * El valor se guarda y la carga deja de estar en curso en el mismo bloque sincronizado: quien
+     * llegue después encuentra una de las dos cosas, nunca ninguna.
+     */
+    private V loadAndPublish(K key, Load<V> load, Function<K, V> loader, Function<V, Duration> ttlFor) {
+        V loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                loading.remove(key, load);
+            }
+            load.result.completeExceptionally(e);
+            throw e;
+        }
+
+        Duration entryTtl = loaded != null ? ttlFor.apply(loaded) : null;
+        synchronized (this) {
+            if (entryTtl != null && epoch == load.epoch) {
+                put(key, loaded, entryTtl);
+            }
+            loading.remove(key, load);
+        }
+        load.result.complete(loaded);
+        return loaded;
+    }
+
+    private V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private record Load<V>(CompletableFuture<V> result, long epoch) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.tribu.interview.manager.service.cache;
+
+import com.tribu.interview.manager.dto.CacheStatsDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Crea y registra las cachés en memoria de la aplicación para poder consultarlas e
+ * invalidarlas desde /admin/caches.
+ */
+@Component
+public class CacheRegistry {
+    private final Map<String, BoundedTtlCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> BoundedTtlCache<K, V> create(String name, int maxSize, Duration ttl) {
+        BoundedTtlCache<K, V> cache = new BoundedTtlCache<>(name, maxSize, ttl);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    public Optional<BoundedTtlCache<?, ?>> find(String name) {
+        return Optional.ofNullable(caches.get(name));
+    }
+
+    public List<CacheStatsDto> stats() {
+        return caches.values().stream().map(BoundedTtlCache::stats).toList();
+    }
+}
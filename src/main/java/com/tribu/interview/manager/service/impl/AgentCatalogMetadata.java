@@ -0,0 +1,43 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.MetadataResponse;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metadatos del catálogo ya calculados junto con su ETag. El ETag depende solo del contenido,
+ * así que no cambia mientras categorías, industrias y conteos sigan siendo los mismos.
+ */
+@Getter
+public final class AgentCatalogMetadata {
+    private final MetadataResponse response;
+    private final String etag;
+
+    private AgentCatalogMetadata(MetadataResponse response, String etag) {
+        this.response = response;
+        this.etag = etag;
+    }
+
+    /**
+     * @param categoryCounts agentes por categoría, ordenado por categoría
+     * @param industryCounts agentes por industria, ordenado por industria
+     */
+    public static AgentCatalogMetadata of(Map<String, Long> categoryCounts, Map<String, Long> industryCounts) {
+        MetadataResponse response = MetadataResponse.builder()
+            .categories(Collections.unmodifiableList(new ArrayList<>(categoryCounts.keySet())))
+            .industries(Collections.unmodifiableList(new ArrayList<>(industryCounts.keySet())))
+            .categoryCounts(Collections.unmodifiableMap(new LinkedHashMap<>(categoryCounts)))
+            .industryCounts(Collections.unmodifiableMap(new LinkedHashMap<>(industryCounts)))
+            .build();
+
+        String content = categoryCounts + "|" + industryCounts;
+        String etag = "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new AgentCatalogMetadata(response, etag);
+    }
+}
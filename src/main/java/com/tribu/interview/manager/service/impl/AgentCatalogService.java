@@ -0,0 +1,107 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.event.AgentAssignmentChangedEvent;
+import com.tribu.interview.manager.event.AgentAssignmentsExpiredEvent;
+import com.tribu.interview.manager.event.AgentCatalogChangedEvent;
+import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.repository.jdbc.JdbcAIAgentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Mantiene el snapshot en memoria del catálogo. Los lectores solo leen una referencia volatile;
+ * las reconstrucciones (al arrancar, tras cada carga de agentes y tras cada cambio de asignación)
+ * se serializan entre sí y publican el snapshot nuevo con un único intercambio de referencia.
+ * Si el snapshot no está disponible los servicios consultan directamente la base de datos.
+ * Solo guarda la proyección de resumen de cada agente, la misma que devuelven los listados.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentCatalogService {
+    private final JdbcAIAgentRepository aiAgentRepository;
+    private final Object writeLock = new Object();
+
+    @Value("${agents.catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    private volatile AgentCatalogSnapshot snapshot;
+
+    public Optional<AgentCatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(AgentCatalogChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(AgentAssignmentChangedEvent event) {
+        refreshAgent(event.getAgentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsExpired(AgentAssignmentsExpiredEvent event) {
+        rebuild();
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            try {
+                List<AIAgent> agents = aiAgentRepository.findAllSummaries();
+                long version = snapshot == null ? 1 : snapshot.getVersion() + 1;
+                snapshot = AgentCatalogSnapshot.of(agents, version);
+                log.info("Agent catalog snapshot v{} built with {} agents in {} ms",
+                    version, agents.size(), System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                // Mejor servir desde la base de datos que un catálogo desactualizado
+                snapshot = null;
+                log.error("Error building agent catalog snapshot, falling back to database queries", e);
+            }
+        }
+    }
+
+    private void refreshAgent(String agentId) {
+        if (!enabled || agentId == null) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            AgentCatalogSnapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            try {
+                AgentCatalogSnapshot patched = aiAgentRepository.findSummaryById(agentId)
+                    .map(current::withAgent)
+                    .orElse(null);
+                if (patched != null) {
+                    snapshot = patched;
+                    return;
+                }
+            } catch (Exception e) {
+                log.error("Error refreshing agent {} in catalog snapshot", agentId, e);
+            }
+        }
+        rebuild();
+    }
+}
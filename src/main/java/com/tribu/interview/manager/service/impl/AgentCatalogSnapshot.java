@@ -0,0 +1,250 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.AgentCursor;
+import com.tribu.interview.manager.dto.AgentFacetsDto;
+import com.tribu.interview.manager.model.AIAgent;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Copia inmutable del catálogo de agentes ordenada igual que el listado SQL
+ * ((created_at, id) descendente). Los filtros por categoría e industria se resuelven
+ * con un BitSet por valor de faceta; las posiciones de los bits son los índices de {@code agents}.
+ * Nunca se modifica después de construirse: los cambios producen un snapshot nuevo.
+ */
+public final class AgentCatalogSnapshot {
+    // Igual que ORDER BY created_at DESC, id COLLATE "C" DESC: en DESC PostgreSQL pone los NULL
+    // primero, y "C" compara bytes UTF-8, que es el orden de code points (no el de String.compareTo)
+    static final Comparator<AIAgent> CATALOG_ORDER = Comparator
+        .comparing(AIAgent::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+        .thenComparing(AIAgent::getId, AgentCatalogSnapshot::compareCodePoints)
+        .reversed();
+
+    private static final BitSet EMPTY = new BitSet();
+
+    @Getter
+    private final long version;
+    private final AIAgent[] agents;
+    private final Map<String, Integer> indexById;
+    private final Map<String, BitSet> byCategory;
+    private final Map<String, BitSet> byIndustry;
+    private final BitSet assigned;
+    // Solo depende de categorías e industrias, así que se comparte entre snapshots con las mismas facetas
+    @Getter
+    private final AgentCatalogMetadata metadata;
+
+    private AgentCatalogSnapshot(long version, AIAgent[] agents, Map<String, Integer> indexById,
+                                 Map<String, BitSet> byCategory, Map<String, BitSet> byIndustry, BitSet assigned,
+                                 AgentCatalogMetadata metadata) {
+        this.version = version;
+        this.agents = agents;
+        this.indexById = indexById;
+        this.byCategory = byCategory;
+        this.byIndustry = byIndustry;
+        this.assigned = assigned;
+        this.metadata = metadata;
+    }
+
+    public static AgentCatalogSnapshot of(List<AIAgent> catalog, long version) {
+        AIAgent[] agents = catalog.toArray(new AIAgent[0]);
+        Arrays.sort(agents, CATALOG_ORDER);
+
+        Map<String, Integer> indexById = new HashMap<>(agents.length * 2);
+        Map<String, BitSet> byCategory = new TreeMap<>();
+        Map<String, BitSet> byIndustry = new TreeMap<>();
+        BitSet assigned = new BitSet(agents.length);
+
+        for (int i = 0; i < agents.length; i++) {
+            AIAgent agent = agents[i];
+            indexById.put(agent.getId(), i);
+            if (agent.getCategory() != null) {
+                byCategory.computeIfAbsent(agent.getCategory(), k -> new BitSet(agents.length)).set(i);
+            }
+            if (agent.getIndustry() != null) {
+                byIndustry.computeIfAbsent(agent.getIndustry(), k -> new BitSet(agents.length)).set(i);
+            }
+            if (Boolean.TRUE.equals(agent.getPrimaryAssigned())) {
+                assigned.set(i);
+            }
+        }
+
+        AgentCatalogMetadata metadata = AgentCatalogMetadata.of(cardinalities(byCategory), cardinalities(byIndustry));
+        return new AgentCatalogSnapshot(version, agents, indexById,
+            Collections.unmodifiableMap(byCategory), Collections.unmodifiableMap(byIndustry), assigned, metadata);
+    }
+
+    /**
+     * Devuelve un snapshot nuevo con el agente reemplazado. Si cambia alguna clave de
+     * orden o de faceta se reconstruye entero; si no, solo se copian el arreglo y el bitset
+     * de asignados y se comparten los índices de facetas.
+     *
+     * @return el snapshot nuevo, o null si el agente no forma parte de este snapshot
+     */
+    public AgentCatalogSnapshot withAgent(AIAgent updated) {
+        Integer index = indexById.get(updated.getId());
+        if (index == null) {
+            return null;
+        }
+
+        AIAgent current = agents[index];
+        AIAgent[] patched = agents.clone();
+        patched[index] = updated;
+
+        boolean sameKeys = Objects.equals(current.getCreatedAt(), updated.getCreatedAt())
+            && Objects.equals(current.getCategory(), updated.getCategory())
+            && Objects.equals(current.getIndustry(), updated.getIndustry());
+        if (!sameKeys) {
+            return of(List.of(patched), version + 1);
+        }
+
+        BitSet patchedAssigned = (BitSet) assigned.clone();
+        patchedAssigned.set(index, Boolean.TRUE.equals(updated.getPrimaryAssigned()));
+        return new AgentCatalogSnapshot(version + 1, patched, indexById, byCategory, byIndustry, patchedAssigned,
+            metadata);
+    }
+
+    /**
+     * Página del catálogo filtrado. Con cursor se continúa justo después de la fila del cursor
+     * (búsqueda binaria sobre el orden del catálogo); sin cursor se saltan {@code offset} filas.
+     */
+    public List<AIAgent> page(String category, String industry, AgentCursor after, int offset, int limit) {
+        BitSet filter = filter(category, industry);
+        int from = after == null ? 0 : firstAfter(after);
+
+        List<AIAgent> page = new ArrayList<>(Math.min(limit, 128));
+        int skipped = 0;
+        for (int i = next(filter, from); i >= 0 && page.size() < limit; i = next(filter, i + 1)) {
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            page.add(agents[i]);
+        }
+        return page;
+    }
+
+    public long count(String category, String industry) {
+        BitSet filter = filter(category, industry);
+        return filter == null ? agents.length : filter.cardinality();
+    }
+
+    /**
+     * Conteos por faceta de las filas que pasan los filtros, en una única pasada sobre ellas.
+     */
+    public AgentFacetsDto facets(String category, String industry) {
+        BitSet filter = filter(category, industry);
+        Map<String, Long> categoryCounts = new TreeMap<>();
+        Map<String, Long> industryCounts = new TreeMap<>();
+        long total = 0;
+        long assignedCount = 0;
+
+        for (int i = next(filter, 0); i >= 0; i = next(filter, i + 1)) {
+            AIAgent agent = agents[i];
+            total++;
+            if (agent.getCategory() != null) {
+                categoryCounts.merge(agent.getCategory(), 1L, Long::sum);
+            }
+            if (agent.getIndustry() != null) {
+                industryCounts.merge(agent.getIndustry(), 1L, Long::sum);
+            }
+            if (assigned.get(i)) {
+                assignedCount++;
+            }
+        }
+
+        return AgentFacetsDto.builder()
+            .total(total)
+            .categories(new LinkedHashMap<>(categoryCounts))
+            .industries(new LinkedHashMap<>(industryCounts))
+            .assigned(assignedCount)
+            .unassigned(total - assignedCount)
+            .build();
+    }
+
+    public List<String> categories() {
+        return new ArrayList<>(byCategory.keySet());
+    }
+
+    public List<String> industries() {
+        return new ArrayList<>(byIndustry.keySet());
+    }
+
+    public int size() {
+        return agents.length;
+    }
+
+    /**
+     * @return null cuando no hay filtros (todo el catálogo); nunca devuelve un bitset compartido
+     */
+    private BitSet filter(String category, String industry) {
+        BitSet filter = null;
+        if (category != null && !category.isBlank()) {
+            filter = (BitSet) byCategory.getOrDefault(category, EMPTY).clone();
+        }
+        if (industry != null && !industry.isBlank()) {
+            BitSet industryBits = byIndustry.getOrDefault(industry, EMPTY);
+            if (filter == null) {
+                filter = (BitSet) industryBits.clone();
+            } else {
+                filter.and(industryBits);
+            }
+        }
+        return filter;
+    }
+
+    private static Map<String, Long> cardinalities(Map<String, BitSet> facet) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        facet.forEach((value, bits) -> counts.put(value, (long) bits.cardinality()));
+        return counts;
+    }
+
+    private int next(BitSet filter, int from) {
+        if (from >= agents.length) {
+            return -1;
+        }
+        return filter == null ? from : filter.nextSetBit(from);
+    }
+
+    // Primer índice que va estrictamente después del cursor en el orden del catálogo
+    private int firstAfter(AgentCursor cursor) {
+        AIAgent key = AIAgent.builder().createdAt(cursor.getCreatedAt()).id(cursor.getId()).build();
+        int low = 0;
+        int high = agents.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CATALOG_ORDER.compare(agents[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compareCodePoints(String left, String right) {
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int a = left.codePointAt(i);
+            int b = right.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Integer.compare(left.length() - i, right.length() - j);
+    }
+}
@@ -0,0 +1,54 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.repository.jdbc.JdbcAgentAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reconstruye periódicamente los contadores de asignaciones por agente. Los deltas que aplica
+ * JdbcAgentAssignmentRepository mantienen los contadores al día; esta tarea corrige cualquier
+ * desviación (cambios hechos directamente en la base de datos, contadores recién creados...).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentCounterReconciliationService {
+    private final JdbcAgentAssignmentRepository assignmentRepository;
+
+    // Antes de que se construya el snapshot del catálogo, que lee estos contadores
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reportClaimRepairs();
+        reconcile();
+    }
+
+    // Asignaciones duplicadas que venció el script de índices únicos (008) antes de crearlos
+    private void reportClaimRepairs() {
+        try {
+            assignmentRepository.takeUnreportedRepairs().forEach((rule, assignmentIds) ->
+                log.warn("{} active assignments violated {} and were expired at startup "
+                    + "(scheduled presentations cancelled): {}", assignmentIds.size(), rule, assignmentIds));
+        } catch (Exception e) {
+            log.error("Error reading assignment repairs", e);
+        }
+    }
+
+    @Scheduled(cron = "${agents.counters.reconcile-cron:0 0 * * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        try {
+            int corrected = assignmentRepository.rebuildCounters();
+            log.info("Agent assignment counters reconciled: {} rows corrected in {} ms",
+                corrected, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Error reconciling agent assignment counters", e);
+        }
+    }
+}
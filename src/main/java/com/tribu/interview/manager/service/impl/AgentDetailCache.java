@@ -0,0 +1,80 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.event.AgentAssignmentChangedEvent;
+import com.tribu.interview.manager.event.AgentAssignmentsExpiredEvent;
+import com.tribu.interview.manager.event.AgentCatalogChangedEvent;
+import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.repository.jdbc.JdbcAIAgentRepository;
+import com.tribu.interview.manager.service.cache.BoundedTtlCache;
+import com.tribu.interview.manager.service.cache.CacheRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caché LRU del detalle de agente (GET /agents/{idOrSlug}) delante de JdbcAIAgentRepository.
+ * Las entradas se indexan por la clave pedida (id o slug) y se invalidan cuando cambia el agente
+ * o alguna de sus asignaciones.
+ */
+@Service
+@RequiredArgsConstructor
+public class AgentDetailCache {
+    public static final String CACHE_NAME = "agent-detail";
+
+    private final JdbcAIAgentRepository aiAgentRepository;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${agents.detail-cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${agents.detail-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private BoundedTtlCache<String, AIAgent> cache;
+
+    @PostConstruct
+    void init() {
+        cache = cacheRegistry.create(CACHE_NAME, maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public Optional<AIAgent> findByIdOrSlug(String key) {
+        return Optional.ofNullable(cache.getOrLoad(key, k -> aiAgentRepository.findByIdOrSlug(k).orElse(null)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(AgentAssignmentChangedEvent event) {
+        evictAgent(event.getAgentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsExpired(AgentAssignmentsExpiredEvent event) {
+        Set<String> agentIds = event.getAgentIds();
+        cache.invalidateIf((key, agent) -> agentIds.contains(agent.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(AgentCatalogChangedEvent event) {
+        if (event.getAgentIds() == null) {
+            cache.clear();
+            return;
+        }
+        // Un agente nuevo o con slug cambiado puede afectar a búsquedas por slug ya cacheadas
+        if (event.getInserted() > 0) {
+            cache.clear();
+            return;
+        }
+        event.getAgentIds().forEach(this::evictAgent);
+    }
+
+    private void evictAgent(String agentId) {
+        if (agentId != null) {
+            cache.invalidateIf((key, agent) -> agentId.equals(agent.getId()));
+        }
+    }
+}
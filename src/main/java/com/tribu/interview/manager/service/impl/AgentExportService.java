@@ -0,0 +1,165 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribu.interview.manager.dto.enums.ExportFormatEnum;
+import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.repository.jdbc.JdbcAIAgentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Exporta el catálogo completo fila a fila desde el ResultSet hasta la respuesta, sin
+ * materializar listas: la memoria usada no depende del tamaño del catálogo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentExportService {
+    // Mismas columnas que JdbcAIAgentRepository.SELECT_BASE, en el orden del CSV
+    private static final List<Map.Entry<String, Function<AIAgent, Object>>> COLUMNS = List.of(
+        Map.entry("id", AIAgent::getId),
+        Map.entry("name", AIAgent::getName),
+        Map.entry("createdBy", AIAgent::getCreatedBy),
+        Map.entry("website", AIAgent::getWebsite),
+        Map.entry("access", AIAgent::getAccess),
+        Map.entry("pricingModel", AIAgent::getPricingModel),
+        Map.entry("category", AIAgent::getCategory),
+        Map.entry("industry", AIAgent::getIndustry),
+        Map.entry("shortDescription", AIAgent::getShortDescription),
+        Map.entry("longDescription", AIAgent::getLongDescription),
+        Map.entry("keyFeatures", AIAgent::getKeyFeatures),
+        Map.entry("useCases", AIAgent::getUseCases),
+        Map.entry("tags", AIAgent::getTags),
+        Map.entry("logo", AIAgent::getLogo),
+        Map.entry("logoFileName", AIAgent::getLogoFileName),
+        Map.entry("image", AIAgent::getImage),
+        Map.entry("imageFileName", AIAgent::getImageFileName),
+        Map.entry("video", AIAgent::getVideo),
+        Map.entry("upvotes", AIAgent::getUpvotes),
+        Map.entry("approved", AIAgent::getApproved),
+        Map.entry("createdAt", AIAgent::getCreatedAt),
+        Map.entry("slug", AIAgent::getSlug),
+        Map.entry("version", AIAgent::getVersion),
+        Map.entry("featured", AIAgent::getFeatured),
+        Map.entry("catalogVersion", AIAgent::getCatalogVersion),
+        Map.entry("assignmentStatus", AIAgent::getAssignmentStatus),
+        Map.entry("assignedAt", AIAgent::getAssignedAt),
+        Map.entry("assignedRole", AIAgent::getAssignedRole),
+        Map.entry("assignedToName", AIAgent::getAssignedToName),
+        Map.entry("assignedToEmail", AIAgent::getAssignedToEmail),
+        Map.entry("totalContributors", AIAgent::getTotalContributors),
+        Map.entry("hasPrimaryResearcher", AIAgent::getPrimaryAssigned)
+    );
+
+    private final JdbcAIAgentRepository aiAgentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${agents.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Escribe el catálogo en {@code out}. La transacción de solo lectura mantiene abierto el
+     * cursor del servidor mientras dura la exportación.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormatEnum format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows;
+        try {
+            rows = format == ExportFormatEnum.CSV ? exportCsv(out) : exportNdjson(out);
+        } catch (UncheckedIOException e) {
+            // Normalmente el cliente cerró la conexión a mitad de la descarga
+            throw e.getCause();
+        }
+        log.info("Exported {} agents as {} in {} ms", rows, format, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private long exportNdjson(OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            aiAgentRepository.streamAll(fetchSize, agent -> {
+                try {
+                    generator.writeStartObject();
+                    for (Map.Entry<String, Function<AIAgent, Object>> column : COLUMNS) {
+                        generator.writeFieldName(column.getKey());
+                        writeJsonValue(generator, column.getValue().apply(agent));
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return rows[0];
+    }
+
+    private long exportCsv(OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writeCsvLine(writer, COLUMNS.stream().map(column -> (Object) column.getKey()).toList());
+            aiAgentRepository.streamAll(fetchSize, agent -> {
+                try {
+                    writeCsvLine(writer, COLUMNS.stream().map(column -> column.getValue().apply(agent)).toList());
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return rows[0];
+    }
+
+    private void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private void writeCsvLine(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: se entrecomilla si hay separadores, comillas o saltos de línea
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
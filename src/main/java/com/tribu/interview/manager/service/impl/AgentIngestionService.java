@@ -0,0 +1,345 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribu.interview.manager.dto.AgentData;
+import com.tribu.interview.manager.dto.BulkIngestionReport;
+import com.tribu.interview.manager.event.AgentCatalogChangedEvent;
+import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.model.AgentContentHash;
+import com.tribu.interview.manager.repository.jdbc.JdbcAIAgentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Carga masiva de agentes. Valida cada documento, escribe en bloques de
+ * {@code agents.ingestion.chunk-size} filas con upserts por lotes y todo dentro de una
+ * única transacción (o una por bloque en los trabajos en segundo plano). Cada bloque va protegido por un savepoint: si el batch falla se
+ * reintenta fila a fila para rechazar solo las filas problemáticas. Las filas cuyo hash de
+ * contenido coincide con el guardado no se escriben.
+ * Los documentos se consumen de un iterador, así que en memoria solo vive el bloque en curso.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentIngestionService {
+    private final JdbcAIAgentRepository aiAgentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final AgentUploadSpool spool;
+
+    @Value("${agents.ingestion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${agents.ingestion.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    @Value("${agents.ingestion.max-reported-chunks:1000}")
+    private int maxReportedChunks;
+
+    /**
+     * Igual que {@link #ingest(Iterator)} pero leyendo el payload en streaming (JSON o NDJSON),
+     * de modo que la memoria usada no depende del tamaño del archivo. El cuerpo se vuelca
+     * primero a disco, fuera de la transacción, para no retener una conexión del pool mientras
+     * llega por la red.
+     */
+    public BulkIngestionReport ingestStream(InputStream body, boolean ndjson) {
+        Path file = spool.spool(body, ndjson);
+        try {
+            return ingestFile(file, ndjson, false, report -> { });
+        } finally {
+            spool.delete(file);
+        }
+    }
+
+    /**
+     * @param commitEachChunk si es true cada bloque va en su propia transacción (trabajos en
+     *                        segundo plano: el progreso informado ya está confirmado y un fallo
+     *                        conserva los bloques anteriores); si no, todo el archivo va en una
+     */
+    public BulkIngestionReport ingestFile(Path file, boolean ndjson, boolean commitEachChunk,
+                                          Consumer<BulkIngestionReport> onProgress) {
+        try (InputStream in = Files.newInputStream(file)) {
+            AgentUploadStreamReader items = new AgentUploadStreamReader(objectMapper, in, ndjson);
+            return commitEachChunk ? ingestInChunks(items, onProgress) : ingest(items, onProgress);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo leer la carga", e);
+        }
+    }
+
+    /**
+     * Lee el archivo hasta el primer agente para rechazar con 400 un payload mal formado o
+     * sin la forma esperada antes de encolarlo.
+     */
+    public void checkPayload(Path file, boolean ndjson) {
+        try (InputStream in = Files.newInputStream(file)) {
+            new AgentUploadStreamReader(objectMapper, in, ndjson).hasNext();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo leer la carga", e);
+        }
+    }
+
+    public BulkIngestionReport ingest(Iterator<AgentData> items) {
+        return ingest(items, report -> { });
+    }
+
+    /**
+     * @param onProgress se invoca tras escribir cada bloque con el informe parcial
+     *                   ({@code received} = documentos leídos hasta ese momento)
+     */
+    public BulkIngestionReport ingest(Iterator<AgentData> items, Consumer<BulkIngestionReport> onProgress) {
+        return run(items, onProgress, false);
+    }
+
+    /**
+     * Como {@link #ingest(Iterator, Consumer)} pero con una transacción por bloque: onProgress
+     * solo cuenta filas ya confirmadas y, si algo falla, los bloques anteriores se conservan.
+     */
+    public BulkIngestionReport ingestInChunks(Iterator<AgentData> items, Consumer<BulkIngestionReport> onProgress) {
+        return run(items, onProgress, true);
+    }
+
+    private BulkIngestionReport run(Iterator<AgentData> items, Consumer<BulkIngestionReport> onProgress,
+                                    boolean transactionPerChunk) {
+        long start = System.currentTimeMillis();
+        BulkIngestionReport report = BulkIngestionReport.builder()
+            .chunks(new ArrayList<>())
+            .rejectedRows(new ArrayList<>())
+            .build();
+
+        boolean completed = false;
+        try {
+            if (transactionPerChunk) {
+                readChunks(items, report, onProgress,
+                    chunk -> transactionTemplate.executeWithoutResult(status -> writeChunk(status, chunk, report)));
+            } else {
+                transactionTemplate.executeWithoutResult(status ->
+                    readChunks(items, report, onProgress, chunk -> writeChunk(status, chunk, report)));
+            }
+            completed = true;
+        } finally {
+            // Con una transacción por bloque lo escrito antes de un fallo ya está confirmado
+            if ((completed || transactionPerChunk) && report.getInserted() + report.getUpdated() > 0) {
+                eventPublisher.publishEvent(new AgentCatalogChangedEvent(null, report.getInserted()));
+            }
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Bulk ingestion finished: {} received, {} inserted, {} updated, {} unchanged, {} rejected in {} ms",
+            report.getReceived(), report.getInserted(), report.getUpdated(), report.getUnchanged(),
+            report.getRejected(), report.getDurationMs());
+        return report;
+    }
+
+    private void readChunks(Iterator<AgentData> items, BulkIngestionReport report,
+                            Consumer<BulkIngestionReport> onProgress, Consumer<List<PendingRow>> writer) {
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (items.hasNext()) {
+            AgentData item = items.next();
+            String error = validationError(item);
+            if (error != null) {
+                reject(report, index, item, error);
+            } else {
+                chunk.add(new PendingRow(index, mapToAIAgent(item), item));
+            }
+            index++;
+
+            if (chunk.size() == chunkSize) {
+                writer.accept(chunk);
+                chunk.clear();
+                report.setReceived(index);
+                onProgress.accept(report);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writer.accept(chunk);
+        }
+        report.setReceived(index);
+    }
+
+    public boolean isValidDocument(AgentData item) {
+        return validationError(item) == null;
+    }
+
+    public AIAgent mapToAIAgent(AgentData item) {
+        return AIAgent.builder()
+            .id(item.getId())
+            .name(item.getName())
+            .createdBy(Optional.ofNullable(item.getCreatedBy()).orElse(""))
+            .website(Optional.ofNullable(item.getWebsite()).orElse(""))
+            .access(Optional.ofNullable(item.getAccess()).orElse(""))
+            .pricingModel(Optional.ofNullable(item.getPricingModel()).orElse(""))
+            .category(item.getCategory())
+            .industry(item.getIndustry())
+            .shortDescription(item.getShortDescription())
+            .longDescription(Optional.ofNullable(item.getLongDescription()).orElse(""))
+            .keyFeatures(Optional.ofNullable(item.getKeyFeatures()).orElse(""))
+            .useCases(Optional.ofNullable(item.getUseCases()).orElse(""))
+            .tags(Optional.ofNullable(item.getTags()).orElse(""))
+            .logo(Optional.ofNullable(item.getLogo()).orElse(""))
+            .logoFileName(Optional.ofNullable(item.getLogoFileName()).orElse(""))
+            .image(Optional.ofNullable(item.getImage()).orElse(""))
+            .imageFileName(Optional.ofNullable(item.getImageFileName()).orElse(""))
+            .video(Optional.ofNullable(item.getVideo()).orElse(""))
+            .upvotes(Optional.ofNullable(item.getUpvotes()).orElse(0))
+            .approved(Optional.ofNullable(item.getApproved()).orElse(false))
+            .createdAt(LocalDateTime.now())
+            .slug(Optional.ofNullable(item.getSlug()).orElse(""))
+            .version(Optional.ofNullable(item.getVersion()).orElse(""))
+            .featured(Optional.ofNullable(item.getFeatured()).orElse(false))
+            .build();
+    }
+
+    private String validationError(AgentData item) {
+        if (item == null) {
+            return "Empty document";
+        }
+        if (!StringUtils.hasText(item.getName())) {
+            return "name is required";
+        }
+        if (!StringUtils.hasText(item.getCategory())) {
+            return "category is required";
+        }
+        if (!StringUtils.hasText(item.getIndustry())) {
+            return "industry is required";
+        }
+        if (!StringUtils.hasText(item.getShortDescription())) {
+            return "shortDescription is required";
+        }
+        return null;
+    }
+
+    private void writeChunk(TransactionStatus status, List<PendingRow> chunk, BulkIngestionReport report) {
+        long start = System.currentTimeMillis();
+        // Un único SELECT por bloque con los hashes guardados; la comparación se hace en memoria
+        Map<String, String> storedHashes = new HashMap<>(aiAgentRepository.findContentHashes(chunk.stream()
+            .map(row -> row.agent.getId())
+            .filter(Objects::nonNull)
+            .toList()));
+
+        // Se decide antes del upsert, que asigna id a los agentes nuevos
+        List<PendingRow> toWrite = new ArrayList<>(chunk.size());
+        int unchanged = 0;
+        for (PendingRow row : chunk) {
+            String id = row.agent.getId();
+            String hash = AgentContentHash.of(row.agent);
+            row.agent.setContentHash(hash);
+            row.isNew = id == null || !storedHashes.containsKey(id);
+            if (!row.isNew && hash.equals(storedHashes.get(id))) {
+                unchanged++;
+                continue;
+            }
+            if (id != null) {
+                // Un id repetido dentro del bloque se compara con la última versión vista
+                storedHashes.put(id, hash);
+            }
+            toWrite.add(row);
+        }
+
+        List<Boolean> written = new ArrayList<>(toWrite.size());
+        if (!toWrite.isEmpty()) {
+            Object savepoint = status.createSavepoint();
+            try {
+                aiAgentRepository.upsertBatch(toWrite.stream().map(row -> row.agent).toList());
+                status.releaseSavepoint(savepoint);
+                toWrite.forEach(row -> written.add(true));
+            } catch (DataAccessException e) {
+                status.rollbackToSavepoint(savepoint);
+                log.warn("Batch upsert failed for chunk {}, retrying row by row: {}",
+                    report.getTotalChunks() + 1, e.getMostSpecificCause().getMessage());
+                toWrite.forEach(row -> written.add(writeRow(status, row, report)));
+            }
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        int rejected = 0;
+        for (int i = 0; i < toWrite.size(); i++) {
+            if (!written.get(i)) {
+                rejected++;
+            } else if (toWrite.get(i).isNew) {
+                inserted++;
+            } else {
+                updated++;
+            }
+        }
+
+        report.setInserted(report.getInserted() + inserted);
+        report.setUpdated(report.getUpdated() + updated);
+        report.setUnchanged(report.getUnchanged() + unchanged);
+        report.setTotalChunks(report.getTotalChunks() + 1);
+        if (report.getChunks().size() < maxReportedChunks) {
+            report.getChunks().add(BulkIngestionReport.ChunkReport.builder()
+                .chunk(report.getTotalChunks())
+                .rows(chunk.size())
+                .inserted(inserted)
+                .updated(updated)
+                .unchanged(unchanged)
+                .rejected(rejected)
+                .durationMs(System.currentTimeMillis() - start)
+                .build());
+        }
+    }
+
+    private boolean writeRow(TransactionStatus status, PendingRow row, BulkIngestionReport report) {
+        Object savepoint = status.createSavepoint();
+        try {
+            aiAgentRepository.upsertBatch(List.of(row.agent));
+            status.releaseSavepoint(savepoint);
+            return true;
+        } catch (DataAccessException e) {
+            status.rollbackToSavepoint(savepoint);
+            reject(report, row.index, row.source, e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    private void reject(BulkIngestionReport report, int index, AgentData item, String reason) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getRejectedRows().size() < maxReportedRejections) {
+            report.getRejectedRows().add(BulkIngestionReport.RejectedRow.builder()
+                .index(index)
+                .id(item != null ? item.getId() : null)
+                .name(item != null ? item.getName() : null)
+                .reason(reason)
+                .build());
+        }
+    }
+
+    private static class PendingRow {
+        private final int index;
+        private final AIAgent agent;
+        private final AgentData source;
+        private boolean isNew;
+
+        private PendingRow(int index, AIAgent agent, AgentData source) {
+            this.index = index;
+            this.agent = agent;
+            this.source = source;
+        }
+    }
+}
@@ -8,12 +8,15 @@ import com.tribu.interview.manager.repository.jdbc.JdbcResearcherRepository;
 import com.tribu.interview.manager.service.IAgentManagerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDateTime;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,41 +27,176 @@ public class AgentManagerService implements IAgentManagerService {
     private final JdbcAIAgentRepository aiAgentRepository;
     private final JdbcAgentAssignmentRepository assignmentRepository;
     private final JdbcResearcherRepository researcherRepository;
+    private final AgentCatalogService catalogService;
+    private final AgentIngestionService ingestionService;
+    private final AgentMetadataService metadataService;
+    private final AgentStatsService statsService;
+    private final AgentDetailCache agentDetailCache;
+
+    @Value("${agents.catalog.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${agents.catalog.max-offset:10000}")
+    private int maxOffset;
+
+    @Value("${agents.changes.default-limit:500}")
+    private int changesDefaultLimit;
+
+    @Value("${agents.changes.max-limit:1000}")
+    private int changesMaxLimit;
 
     @Override
-    public List<AIAgent> processJsonData(AgentUploadRequest payload) {
-        List<AIAgent> agents = payload.getData().get(0).getJson().getData().stream()
-            .filter(this::isValidDocument)
-            .map(this::mapToAIAgent)
-            .toList();
-        
-        log.info("Processing {} valid agents", agents.size());
-        return aiAgentRepository.saveAll(agents);
+    public BulkIngestionReport processJsonData(AgentUploadRequest payload) {
+        return ingestionService.ingest(payload.getData().get(0).getJson().getData().iterator());
+    }
+
+    @Override
+    public BulkIngestionReport ingestStream(InputStream body, boolean ndjson) {
+        return ingestionService.ingestStream(body, ndjson);
     }
 
     @Override
     public MetadataResponse getMetadata() {
-        return MetadataResponse.builder()
-            .categories(aiAgentRepository.findDistinctCategories())
-            .industries(aiAgentRepository.findDistinctIndustries())
-            .build();
+        return metadataService.get().getResponse();
+    }
+
+    public AgentCatalogMetadata getCatalogMetadata() {
+        return metadataService.get();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedAgentResponse getAgents(int page, int pageSize, String category, String industry, String search) {
-        List<AIAgent> agents = aiAgentRepository.findAllWithFilters(category, industry, search);
+    public PaginatedAgentResponse getAgents(int page, int pageSize, String cursor, boolean includeTotal,
+                                            String category, String industry, String search) {
+        int size = Math.max(1, Math.min(pageSize, maxPageSize));
+        int currentPage = Math.max(page, 1);
+        AgentCursor after = decodeCursor(cursor);
+        boolean rankedSearch = JdbcAIAgentRepository.toPrefixTsQuery(search) != null;
+        if (after != null && (after.getSearchRank() != null) != rankedSearch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El cursor no corresponde a esta búsqueda");
+        }
+
+        int offset = 0;
+        if (after == null) {
+            long requestedOffset = (long) (currentPage - 1) * size;
+            if (requestedOffset > maxOffset) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La página solicitada es demasiado profunda, use el parámetro cursor para continuar");
+            }
+            offset = (int) requestedOffset;
+        }
+
+        // Sin búsqueda de texto el listado sale del snapshot en memoria si está disponible
+        AgentCatalogSnapshot snapshot = rankedSearch ? null : catalogService.current().orElse(null);
+
+        // Se pide una fila extra para saber si hay página siguiente sin contar
+        List<AIAgent> agents = snapshot != null
+            ? snapshot.page(category, industry, after, offset, size + 1)
+            : aiAgentRepository.findPageWithFilters(category, industry, search, after, offset, size + 1);
+        boolean hasNext = agents.size() > size;
+        if (hasNext) {
+            agents = agents.subList(0, size);
+        }
+
+        AIAgent last = agents.isEmpty() ? null : agents.get(agents.size() - 1);
+        String nextCursor = hasNext
+            ? AgentCursor.builder()
+                .searchRank(last.getSearchRank())
+                .createdAt(last.getCreatedAt())
+                .id(last.getId())
+                .build()
+                .encode()
+            : null;
+
+        Long totalElements = null;
+        if (includeTotal) {
+            totalElements = snapshot != null
+                ? snapshot.count(category, industry)
+                : aiAgentRepository.countWithFilters(category, industry, search);
+        }
 
         return PaginatedAgentResponse.builder()
             .content(agents.stream()
-                .map(this::mapToAgentWithAssignmentDto)
+                .map(this::mapToAgentSummaryDto)
                 .collect(Collectors.toList()))
-            .totalElements((long) agents.size())
-            .totalPages((int) Math.ceil((double) agents.size() / pageSize))
-            .currentPage(page)
+            .totalElements(totalElements)
+            .totalPages(totalElements != null ? (int) Math.ceil((double) totalElements / size) : null)
+            .currentPage(currentPage)
+            .pageSize(size)
+            .hasNext(hasNext)
+            .nextCursor(nextCursor)
             .build();
     }
 
+    @Override
+    public AgentFacetsDto getFacets(String category, String industry, String search) {
+        boolean textSearch = JdbcAIAgentRepository.toPrefixTsQuery(search) != null;
+        AgentCatalogSnapshot snapshot = textSearch ? null : catalogService.current().orElse(null);
+        return snapshot != null
+            ? snapshot.facets(category, industry)
+            : aiAgentRepository.countFacets(category, industry, search);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AgentChangesResponse getChanges(long since, Integer limit) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since debe ser >= 0");
+        }
+        int size = Math.max(1, Math.min(limit != null ? limit : changesDefaultLimit, changesMaxLimit));
+
+        // Techo fijado antes de leer: por debajo de cualquier escritor aún sin confirmar, para que
+        // una versión baja que confirme más tarde no quede detrás del since devuelto
+        long upTo = aiAgentRepository.currentCatalogVersion();
+
+        // Una fila extra de cada tipo para saber si queda algo después de la página
+        List<AIAgent> changed = aiAgentRepository.findChangedSince(since, upTo, size + 1);
+        List<AgentDeletion> deleted = aiAgentRepository.findDeletedSince(since, upTo, size + 1);
+
+        // Mezcla por versión de las dos listas ya ordenadas, hasta completar la página
+        List<AgentWithAssignmentDto> changedPage = new ArrayList<>();
+        List<String> deletedPage = new ArrayList<>();
+        long version = since;
+        int c = 0;
+        int d = 0;
+        while (changedPage.size() + deletedPage.size() < size && (c < changed.size() || d < deleted.size())) {
+            boolean takeChanged = d >= deleted.size()
+                || (c < changed.size() && changed.get(c).getCatalogVersion() < deleted.get(d).getCatalogVersion());
+            if (takeChanged) {
+                AIAgent agent = changed.get(c++);
+                changedPage.add(mapToAgentWithAssignmentDto(agent));
+                version = agent.getCatalogVersion();
+            } else {
+                AgentDeletion deletion = deleted.get(d++);
+                deletedPage.add(deletion.getAgentId());
+                version = deletion.getCatalogVersion();
+            }
+        }
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        if (!hasMore) {
+            version = Math.max(version, upTo);
+        }
+
+        return AgentChangesResponse.builder()
+            .since(since)
+            .version(version)
+            .hasMore(hasMore)
+            .changed(changedPage)
+            .deletedIds(deletedPage)
+            .build();
+    }
+
+    private AgentCursor decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            return AgentCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
     @Override
     public List<AgentResearcherResponseDto> getActiveAgents(String state, String email) {
         Researcher researcher = researcherRepository.findByEmail(email).orElseThrow();
@@ -66,20 +204,44 @@ public class AgentManagerService implements IAgentManagerService {
         return aiAgentRepository.findAllByStateAndResearcherId(state, researcher.getId());
     }
 
-    private AgentWithAssignmentDto mapToAgentWithAssignmentDto(AIAgent agent) {
-        // Un agente está asignado si tiene un investigador primario activo
-        boolean hasPrimaryResearcher = agent.getAssignmentStatus() != null && 
-                                     agent.getAssignmentStatus().equals("active") && 
-                                     agent.getAssignedRole() != null && 
-                                     agent.getAssignedRole().equals("PRIMARY");
-        
-        AgentWithAssignmentDto.AssignmentInfoDto assignmentInfo = hasPrimaryResearcher ? 
+    @Override
+    public AgentWithAssignmentDto getAgent(String idOrSlug) {
+        return agentDetailCache.findByIdOrSlug(idOrSlug)
+            .map(this::mapToAgentWithAssignmentDto)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Agente no encontrado"));
+    }
+
+    private AgentSummaryDto mapToAgentSummaryDto(AIAgent agent) {
+        boolean hasPrimaryResearcher = Boolean.TRUE.equals(agent.getPrimaryAssigned());
+
+        return AgentSummaryDto.builder()
+            .id(agent.getId())
+            .name(agent.getName())
+            .slug(agent.getSlug())
+            .category(agent.getCategory())
+            .industry(agent.getIndustry())
+            .shortDescription(agent.getShortDescription())
+            .logo(agent.getLogo())
+            .createdAt(agent.getCreatedAt())
+            .hasPrimaryResearcher(hasPrimaryResearcher)
+            .assignmentInfo(mapToAssignmentInfo(agent, hasPrimaryResearcher))
+            .totalContributors(agent.getTotalContributors())
+            .build();
+    }
+
+    private AgentWithAssignmentDto.AssignmentInfoDto mapToAssignmentInfo(AIAgent agent, boolean hasPrimaryResearcher) {
+        return hasPrimaryResearcher ?
             AgentWithAssignmentDto.AssignmentInfoDto.builder()
                 .assignedTo(agent.getAssignedToName())
                 .assignedEmail(agent.getAssignedToEmail())
                 .assignedAt(agent.getAssignedAt())
                 .assignedRole(agent.getAssignedRole())
                 .build() : null;
+    }
+
+    private AgentWithAssignmentDto mapToAgentWithAssignmentDto(AIAgent agent) {
+        // Un agente está asignado si tiene un investigador primario activo
+        boolean hasPrimaryResearcher = Boolean.TRUE.equals(agent.getPrimaryAssigned());
 
         return AgentWithAssignmentDto.builder()
             .id(agent.getId())
@@ -106,55 +268,14 @@ public class AgentManagerService implements IAgentManagerService {
             .slug(agent.getSlug())
             .version(agent.getVersion())
             .featured(agent.getFeatured())
+            .catalogVersion(agent.getCatalogVersion())
             .hasPrimaryResearcher(hasPrimaryResearcher)
-            .assignmentInfo(assignmentInfo)
+            .assignmentInfo(mapToAssignmentInfo(agent, hasPrimaryResearcher))
             .totalContributors(agent.getTotalContributors())
             .build();
     }
 
-    private boolean isValidDocument(AgentData item) {
-        return Optional.ofNullable(item)
-            .filter(i -> StringUtils.hasText(i.getName()))
-            .filter(i -> StringUtils.hasText(i.getCategory()))
-            .filter(i -> StringUtils.hasText(i.getIndustry()))
-            .filter(i -> StringUtils.hasText(i.getShortDescription()))
-            .isPresent();
-    }
-
-    private AIAgent mapToAIAgent(AgentData item) {
-        return AIAgent.builder()
-            .id(item.getId())
-            .name(item.getName())
-            .createdBy(Optional.ofNullable(item.getCreatedBy()).orElse(""))
-            .website(Optional.ofNullable(item.getWebsite()).orElse(""))
-            .access(Optional.ofNullable(item.getAccess()).orElse(""))
-            .pricingModel(Optional.ofNullable(item.getPricingModel()).orElse(""))
-            .category(item.getCategory())
-            .industry(item.getIndustry())
-            .shortDescription(item.getShortDescription())
-            .longDescription(Optional.ofNullable(item.getLongDescription()).orElse(""))
-            .keyFeatures(Optional.ofNullable(item.getKeyFeatures()).orElse(""))
-            .useCases(Optional.ofNullable(item.getUseCases()).orElse(""))
-            .tags(Optional.ofNullable(item.getTags()).orElse(""))
-            .logo(Optional.ofNullable(item.getLogo()).orElse(""))
-            .logoFileName(Optional.ofNullable(item.getLogoFileName()).orElse(""))
-            .image(Optional.ofNullable(item.getImage()).orElse(""))
-            .imageFileName(Optional.ofNullable(item.getImageFileName()).orElse(""))
-            .video(Optional.ofNullable(item.getVideo()).orElse(""))
-            .upvotes(Optional.ofNullable(item.getUpvotes()).orElse(0))
-            .approved(Optional.ofNullable(item.getApproved()).orElse(false))
-            .createdAt(LocalDateTime.now())
-            .slug(Optional.ofNullable(item.getSlug()).orElse(""))
-            .version(Optional.ofNullable(item.getVersion()).orElse(""))
-            .featured(Optional.ofNullable(item.getFeatured()).orElse(false))
-            .build();
-    }
-
     public StatsDto getStats() {
-        return StatsDto.builder()
-                .active_investigators(assignmentRepository.countByStatus("active"))
-                .documented_agents(20L)
-                .total_agents(aiAgentRepository.count())
-                .build();
+        return statsService.getStats();
     }
 } 
\ No newline at end of file
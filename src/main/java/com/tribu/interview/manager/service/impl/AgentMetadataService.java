@@ -0,0 +1,53 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.event.AgentCatalogChangedEvent;
+import com.tribu.interview.manager.repository.jdbc.JdbcAIAgentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metadatos del catálogo (categorías, industrias y sus conteos). Si hay snapshot se usan los
+ * que ya trae calculados; si no, se consultan una vez con GROUP BY y se guardan hasta el
+ * siguiente cambio del catálogo.
+ */
+@Service
+@RequiredArgsConstructor
+public class AgentMetadataService {
+    private final AgentCatalogService catalogService;
+    private final JdbcAIAgentRepository aiAgentRepository;
+
+    // Se incrementa en cada invalidación para descartar cargas que empezaron antes del cambio
+    private final AtomicLong generation = new AtomicLong();
+    private volatile AgentCatalogMetadata cached;
+
+    public AgentCatalogMetadata get() {
+        return catalogService.current()
+            .map(AgentCatalogSnapshot::getMetadata)
+            .orElseGet(this::fromDatabase);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(AgentCatalogChangedEvent event) {
+        generation.incrementAndGet();
+        cached = null;
+    }
+
+    private AgentCatalogMetadata fromDatabase() {
+        AgentCatalogMetadata current = cached;
+        if (current != null) {
+            return current;
+        }
+
+        long loadedAt = generation.get();
+        AgentCatalogMetadata loaded = AgentCatalogMetadata.of(
+            aiAgentRepository.countByCategory(),
+            aiAgentRepository.countByIndustry());
+        if (generation.get() == loadedAt) {
+            cached = loaded;
+        }
+        return loaded;
+    }
+}
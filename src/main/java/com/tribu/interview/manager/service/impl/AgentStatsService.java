@@ -0,0 +1,105 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.StatsDto;
+import com.tribu.interview.manager.event.AgentAssignmentChangedEvent;
+import com.tribu.interview.manager.event.AgentAssignmentsExpiredEvent;
+import com.tribu.interview.manager.event.AgentCatalogChangedEvent;
+import com.tribu.interview.manager.repository.jdbc.JdbcAgentAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contadores en memoria para /agents/stats. Se actualizan con los eventos que publican los
+ * repositorios al confirmar cada escritura (altas de agentes, cambios de estado de asignaciones,
+ * incluido el paso a "done" al finalizar la documentación) y se reconcilian periódicamente con
+ * la base de datos para corregir cualquier desviación. Los eventos se aplican bajo el lock de
+ * lectura y la reconciliación toma el de escritura, de modo que ningún delta se aplica entre la
+ * consulta y la sobrescritura de los contadores (ni se pierde ni se cuenta dos veces).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentStatsService {
+    private static final String ACTIVE = "active";
+
+    private final JdbcAgentAssignmentRepository assignmentRepository;
+
+    private final AtomicLong totalAgents = new AtomicLong();
+    private final AtomicLong activeInvestigators = new AtomicLong();
+    private final AtomicLong documentedAgents = new AtomicLong();
+    private volatile boolean initialized;
+    private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+    public StatsDto getStats() {
+        if (!initialized) {
+            reconcile();
+        }
+        return StatsDto.builder()
+            .total_agents(totalAgents.get())
+            .active_investigators(activeInvestigators.get())
+            .documented_agents(documentedAgents.get())
+            .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(AgentCatalogChangedEvent event) {
+        applyDelta(() -> totalAgents.addAndGet(event.getInserted()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(AgentAssignmentChangedEvent event) {
+        int activeDelta = (ACTIVE.equals(event.getStatus()) ? 1 : 0)
+            - (ACTIVE.equals(event.getPreviousStatus()) ? 1 : 0);
+        applyDelta(() -> {
+            activeInvestigators.addAndGet(activeDelta);
+            documentedAgents.addAndGet(event.getDocumentedDelta());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsExpired(AgentAssignmentsExpiredEvent event) {
+        applyDelta(() -> activeInvestigators.addAndGet(-event.getExpired()));
+    }
+
+    private void applyDelta(Runnable delta) {
+        reconcileLock.readLock().lock();
+        try {
+            delta.run();
+        } finally {
+            reconcileLock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${agents.stats.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        reconcileLock.writeLock().lock();
+        try {
+            StatsDto actual = assignmentRepository.computeStats();
+            long drift = Math.abs(totalAgents.getAndSet(actual.getTotal_agents()) - actual.getTotal_agents())
+                + Math.abs(activeInvestigators.getAndSet(actual.getActive_investigators()) - actual.getActive_investigators())
+                + Math.abs(documentedAgents.getAndSet(actual.getDocumented_agents()) - actual.getDocumented_agents());
+            if (initialized && drift > 0) {
+                log.warn("Agent stats counters drifted by {}, reconciled with database", drift);
+            }
+            initialized = true;
+        } catch (Exception e) {
+            log.error("Error reconciling agent stats counters", e);
+        } finally {
+            reconcileLock.writeLock().unlock();
+        }
+    }
+}
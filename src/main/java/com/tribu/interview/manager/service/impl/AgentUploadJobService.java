@@ -0,0 +1,203 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.BulkIngestionReport;
+import com.tribu.interview.manager.dto.UploadJobStatusDto;
+import com.tribu.interview.manager.dto.enums.UploadJobStatusEnum;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cargas de agentes asíncronas. El cuerpo de la petición se vuelca a un archivo en disco
+ * ({@link AgentUploadSpool}) y un pool acotado de workers lo procesa con el mismo pipeline
+ * que la carga en streaming, con una transacción por bloque para que el progreso publicado
+ * cuente filas ya confirmadas. Las plazas ({@code workers + queue-capacity}) se reservan antes
+ * de leer el cuerpo, así que con el servicio lleno la subida se rechaza sin tocar el disco.
+ * El estado de cada trabajo se guarda en memoria durante {@code agents.upload-jobs.retention-minutes}
+ * después de terminar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AgentUploadJobService {
+    private final AgentIngestionService ingestionService;
+    private final AgentUploadSpool spool;
+
+    @Value("${agents.upload-jobs.workers:2}")
+    private int workers;
+
+    @Value("${agents.upload-jobs.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${agents.upload-jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor executor;
+    // Una plaza por worker y por hueco de la cola; se toma antes de volcar el cuerpo a disco
+    private Semaphore slots;
+
+    @PostConstruct
+    void init() {
+        slots = new Semaphore(workers + queueCapacity);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("agent-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public UploadJobStatusDto submit(InputStream body, boolean ndjson) {
+        // La plaza se reserva antes de leer el cuerpo: sin hueco no se escribe nada en disco
+        if (!slots.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Demasiadas cargas en curso, inténtelo más tarde");
+        }
+
+        Path spoolFile = null;
+        try {
+            spoolFile = spool.spool(body, ndjson);
+            ingestionService.checkPayload(spoolFile, ndjson);
+
+            String id = UUID.randomUUID().toString();
+            UploadJob job = new UploadJob(id, spoolFile, ndjson);
+            job.payloadBytes = spoolFile.toFile().length();
+            jobs.put(id, job);
+            try {
+                executor.execute(() -> run(job));
+            } catch (TaskRejectedException e) {
+                jobs.remove(id);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Demasiadas cargas en curso, inténtelo más tarde");
+            }
+
+            log.info("Upload job {} queued ({} bytes)", id, job.payloadBytes);
+            return job.toDto();
+        } catch (RuntimeException e) {
+            if (spoolFile != null) {
+                spool.delete(spoolFile);
+            }
+            slots.release();
+            throw e;
+        }
+    }
+
+    public Optional<UploadJobStatusDto> find(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(UploadJob::toDto);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    private void run(UploadJob job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = UploadJobStatusEnum.RUNNING;
+        try {
+            job.summary = ingestionService.ingestFile(job.spoolFile, job.ndjson, true, job::progress);
+            job.progress(job.summary);
+            job.status = UploadJobStatusEnum.COMPLETED;
+        } catch (ResponseStatusException e) {
+            job.fail(e.getReason());
+        } catch (Exception e) {
+            log.error("Upload job {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            spool.delete(job.spoolFile);
+            slots.release();
+            log.info("Upload job {} finished with status {}", job.id, job.status);
+        }
+    }
+
+    // Lo escribe el worker y lo leen las peticiones de estado, de ahí los volatile
+    private static class UploadJob {
+        private final String id;
+        private final Path spoolFile;
+        private final boolean ndjson;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private long payloadBytes;
+        private volatile UploadJobStatusEnum status = UploadJobStatusEnum.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile int rowsProcessed;
+        private volatile int inserted;
+        private volatile int updated;
+        private volatile int unchanged;
+        private volatile int rejected;
+        private volatile String error;
+        private volatile BulkIngestionReport summary;
+
+        private UploadJob(String id, Path spoolFile, boolean ndjson) {
+            this.id = id;
+            this.spoolFile = spoolFile;
+            this.ndjson = ndjson;
+        }
+
+        private void progress(BulkIngestionReport report) {
+            rowsProcessed = report.getReceived();
+            inserted = report.getInserted();
+            updated = report.getUpdated();
+            unchanged = report.getUnchanged();
+            rejected = report.getRejected();
+        }
+
+        private void fail(String message) {
+            error = message;
+            status = UploadJobStatusEnum.FAILED;
+        }
+
+        private UploadJobStatusDto toDto() {
+            LocalDateTime start = startedAt;
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            long elapsedMs = start == null ? 0 : Duration.between(start, end).toMillis();
+            int processed = rowsProcessed;
+
+            return UploadJobStatusDto.builder()
+                .id(id)
+                .status(status)
+                .payloadBytes(payloadBytes)
+                .createdAt(createdAt)
+                .startedAt(start)
+                .finishedAt(finishedAt)
+                .rowsProcessed(processed)
+                .inserted(inserted)
+                .updated(updated)
+                .unchanged(unchanged)
+                .rejected(rejected)
+                .rowsPerSecond(elapsedMs == 0 ? 0 : processed * 1000.0 / elapsedMs)
+                .error(error)
+                .summary(summary)
+                .build();
+        }
+    }
+}
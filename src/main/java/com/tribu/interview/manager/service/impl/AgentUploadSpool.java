@@ -0,0 +1,70 @@
+package com.tribu.interview.manager.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Vuelca el cuerpo de una carga de agentes a un archivo temporal. Así la lectura de la red,
+ * que depende del cliente, termina antes de abrir ninguna transacción, y el parseo posterior
+ * lee de disco local. Un cuerpo de más de {@code agents.ingestion.max-payload-bytes} se corta
+ * con 413 sin llegar a escribirse entero.
+ */
+@Slf4j
+@Component
+public class AgentUploadSpool {
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${agents.ingestion.spool-dir:${java.io.tmpdir}/agent-uploads}")
+    private String spoolDir;
+
+    @Value("${agents.ingestion.max-payload-bytes:536870912}")
+    private long maxPayloadBytes;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(Path.of(spoolDir));
+    }
+
+    public Path spool(InputStream body, boolean ndjson) {
+        Path file = Path.of(spoolDir, UUID.randomUUID() + (ndjson ? ".ndjson" : ".json"));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxPayloadBytes) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "La carga supera el máximo de " + maxPayloadBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+            return file;
+        } catch (ResponseStatusException e) {
+            delete(file);
+            throw e;
+        } catch (IOException e) {
+            delete(file);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo guardar la carga", e);
+        }
+    }
+
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tribu.interview.manager.dto.AgentData;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Recorre un payload de carga de agentes con el token stream de Jackson y entrega los
+ * {@link AgentData} de uno en uno, sin materializar el documento completo.
+ * Soporta dos formatos:
+ * <ul>
+ *   <li>JSON con la misma forma que {@code AgentUploadRequest}: se leen los agentes de
+ *   {@code data[0].json.data[]} y se ignora el resto. Un documento sin esa forma se rechaza
+ *   con 400.</li>
+ *   <li>NDJSON: un {@code AgentData} por línea.</li>
+ * </ul>
+ */
+class AgentUploadStreamReader implements Iterator<AgentData> {
+    private final JsonParser parser;
+    private final MappingIterator<AgentData> ndjson;
+    private boolean arrayFound;
+    private boolean finished;
+    private boolean hasBuffered;
+
+    AgentUploadStreamReader(ObjectMapper objectMapper, InputStream body, boolean ndjson) {
+        try {
+            this.parser = objectMapper.getFactory().createParser(body);
+            this.ndjson = ndjson ? objectMapper.readerFor(AgentData.class).readValues(parser) : null;
+        } catch (IOException e) {
+            throw invalidPayload(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (ndjson != null) {
+            try {
+                return ndjson.hasNextValue();
+            } catch (IOException e) {
+                throw invalidPayload(e);
+            }
+        }
+        if (finished) {
+            return false;
+        }
+        if (hasBuffered) {
+            return true;
+        }
+
+        try {
+            if (!arrayFound) {
+                arrayFound = moveToAgentsArray();
+                if (!arrayFound) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Payload inválido: se esperaba un array de agentes en data[0].json.data");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                finished = true;
+                return false;
+            }
+            hasBuffered = true;
+            return true;
+        } catch (IOException e) {
+            throw invalidPayload(e);
+        }
+    }
+
+    @Override
+    public AgentData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            if (ndjson != null) {
+                return ndjson.nextValue();
+            }
+            hasBuffered = false;
+            return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.readValueAs(AgentData.class);
+        } catch (IOException e) {
+            throw invalidPayload(e);
+        }
+    }
+
+    // Avanza hasta el START_ARRAY de data[0].json.data, saltando cualquier otro campo
+    private boolean moveToAgentsArray() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT || !moveToField("data", JsonToken.START_ARRAY)) {
+            return false;
+        }
+        if (parser.nextToken() != JsonToken.START_OBJECT || !moveToField("json", JsonToken.START_OBJECT)) {
+            return false;
+        }
+        return moveToField("data", JsonToken.START_ARRAY);
+    }
+
+    private boolean moveToField(String name, JsonToken expected) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field)) {
+                return value == expected;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static ResponseStatusException invalidPayload(IOException e) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "JSON inválido: " + e.getMessage(), e);
+    }
+}
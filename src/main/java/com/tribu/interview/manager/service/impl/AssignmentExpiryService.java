@@ -0,0 +1,119 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.AssignmentExpiryRunDto;
+import com.tribu.interview.manager.event.AgentAssignmentsExpiredEvent;
+import com.tribu.interview.manager.model.AgentAssignment;
+import com.tribu.interview.manager.repository.jdbc.JdbcAgentAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vence las asignaciones que siguen activas {@code agents.assignments.expiry.expire-after-days}
+ * días después de asignarse, salvo las que esperan una presentación programada que aún no llegó;
+ * las presentaciones programadas de lo vencido se cancelan y liberan su cupo. Trabaja en lotes de {@code batch-size} filas, cada uno con un UPDATE
+ * en su propia transacción corta, y al terminar publica un único
+ * {@link AgentAssignmentsExpiredEvent} con todo lo vencido en la ejecución.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssignmentExpiryService {
+    private final JdbcAgentAssignmentRepository assignmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${agents.assignments.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${agents.assignments.expiry.expire-after-days:30}")
+    private int expireAfterDays;
+
+    @Value("${agents.assignments.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${agents.assignments.expiry.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    private final AtomicLong totalExpired = new AtomicLong();
+    private final AtomicLong totalRuns = new AtomicLong();
+    private volatile AssignmentExpiryRunDto lastRun;
+
+    @Scheduled(cron = "${agents.assignments.expiry.cron:0 0 * * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public synchronized AssignmentExpiryRunDto run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime cutoff = startedAt.minusDays(expireAfterDays);
+        long start = System.currentTimeMillis();
+
+        Set<String> agentIds = new HashSet<>();
+        Set<String> researcherIds = new HashSet<>();
+        int expired = 0;
+        int batches = 0;
+        boolean truncated = false;
+        String error = null;
+
+        try {
+            while (true) {
+                if (batches == maxBatchesPerRun) {
+                    truncated = true;
+                    break;
+                }
+                List<AgentAssignment> batch = transactionTemplate.execute(
+                    status -> assignmentRepository.expireActiveAssignedBefore(cutoff, startedAt, batchSize));
+                batches++;
+                for (AgentAssignment assignment : batch) {
+                    agentIds.add(assignment.getAgent().getId());
+                    researcherIds.add(assignment.getResearcher().getId());
+                }
+                expired += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // Los lotes ya confirmados se mantienen y se notifican igualmente
+            error = e.getMessage();
+            log.error("Assignment expiry run failed after {} batches", batches, e);
+        }
+
+        if (expired > 0) {
+            eventPublisher.publishEvent(new AgentAssignmentsExpiredEvent(agentIds, researcherIds, expired));
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        lastRun = AssignmentExpiryRunDto.builder()
+            .startedAt(startedAt)
+            .cutoff(cutoff)
+            .expired(expired)
+            .batches(batches)
+            .durationMs(durationMs)
+            .truncated(truncated)
+            .error(error)
+            .totalExpired(totalExpired.addAndGet(expired))
+            .totalRuns(totalRuns.incrementAndGet())
+            .build();
+        log.info("Assignment expiry run: {} assignments expired in {} batches ({} ms, cutoff {}){}",
+            expired, batches, durationMs, cutoff, truncated ? ", more pending" : "");
+        return lastRun;
+    }
+
+    public AssignmentExpiryRunDto getLastRun() {
+        return lastRun;
+    }
+}
@@ -0,0 +1,287 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.AssignmentFeedEventDto;
+import com.tribu.interview.manager.event.AgentAssignmentChangedEvent;
+import com.tribu.interview.manager.event.AgentAssignmentsExpiredEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Difunde por SSE los cambios de asignaciones confirmados. Cada evento recibe un id creciente y
+ * se guarda en un buffer circular de {@code agents.assignment-stream.buffer-size} eventos, desde
+ * el que se reenvía lo que un cliente se perdió al reconectar con Last-Event-ID. Si el cliente
+ * pide un id que ya no está en el buffer (o de antes de un reinicio) recibe un evento "reset" y
+ * debe recargar el catálogo.
+ * Los envíos van en un pool propio de {@code agents.assignment-stream.sender-threads} hilos, con
+ * como mucho una tarea por cliente: quien publica el cambio nunca espera a un cliente, un cliente
+ * lento solo ocupa un hilo y no retrasa a los demás, y cada cliente recibe los eventos en orden y
+ * sin duplicados. Un cliente con un envío bloqueado más de {@code stall-timeout-ms} deja de
+ * recibir eventos y su emitter se cierra desde un executor aparte: send y complete se sincronizan
+ * sobre el emitter, así que quien lo cierre espera a que el envío bloqueado termine, y eso no
+ * puede pasar en el hilo del scheduler. El envío bloqueado (y el hilo de envío que ocupa) lo corta
+ * el timeout de escritura del conector, {@code server.tomcat.connection-timeout}. Al reconectar,
+ * el cliente recupera lo perdido desde el buffer.
+ */
+@Slf4j
+@Service
+public class AssignmentFeedBroadcaster {
+    public static final String ASSIGNMENT_EVENT = "assignment";
+    public static final String EXPIRED_EVENT = "assignments-expired";
+    public static final String RESET_EVENT = "reset";
+
+    @Value("${agents.assignment-stream.buffer-size:1000}")
+    private int bufferSize;
+
+    @Value("${agents.assignment-stream.max-subscribers:500}")
+    private int maxSubscribers;
+
+    @Value("${agents.assignment-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${agents.assignment-stream.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${agents.assignment-stream.stall-timeout-ms:10000}")
+    private long stallTimeoutMs;
+
+    private final Object bufferLock = new Object();
+    private final ArrayDeque<AssignmentFeedEventDto> buffer = new ArrayDeque<>();
+    private long lastEventId;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ThreadPoolTaskExecutor sender;
+    // Cierra emitters, que puede bloquearse mientras un envío a ese cliente siga en curso
+    private ThreadPoolTaskExecutor closer;
+
+    @PostConstruct
+    void init() {
+        sender = new ThreadPoolTaskExecutor();
+        sender.setCorePoolSize(senderThreads);
+        sender.setMaxPoolSize(senderThreads);
+        // Cada cliente tiene como mucho una tarea encolada
+        sender.setQueueCapacity(maxSubscribers);
+        sender.setThreadNamePrefix("assignment-feed-");
+        sender.initialize();
+
+        closer = new ThreadPoolTaskExecutor();
+        closer.setCorePoolSize(2);
+        closer.setMaxPoolSize(2);
+        closer.setQueueCapacity(maxSubscribers);
+        closer.setThreadNamePrefix("assignment-feed-close-");
+        closer.setWaitForTasksToCompleteOnShutdown(true);
+        closer.setAwaitTerminationSeconds(5);
+        closer.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> drop(subscriber, null));
+        sender.shutdown();
+        closer.shutdown();
+    }
+
+    /**
+     * @param lastEventId valor de Last-Event-ID, o null para recibir solo eventos nuevos
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Demasiados clientes conectados al stream de asignaciones");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber;
+        synchronized (bufferLock) {
+            subscriber = new Subscriber(emitter, lastEventId == null ? this.lastEventId : lastEventId);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(AgentAssignmentChangedEvent event) {
+        append(AssignmentFeedEventDto.builder()
+            .type(ASSIGNMENT_EVENT)
+            .assignmentId(event.getAssignmentId())
+            .agentId(event.getAgentId())
+            .researcherId(event.getResearcherId())
+            .role(event.getRole())
+            .previousStatus(event.getPreviousStatus())
+            .status(event.getStatus()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsExpired(AgentAssignmentsExpiredEvent event) {
+        append(AssignmentFeedEventDto.builder()
+            .type(EXPIRED_EVENT)
+            .agentIds(event.getAgentIds())
+            .count(event.getExpired()));
+    }
+
+    /*
+     * Comentario SSE periódico para que proxies y clientes no den la conexión por muerta. De paso
+     * desconecta a los clientes con un envío bloqueado demasiado tiempo y reprograma a los que
+     * quedaron sin tarea porque el pool estaba lleno.
+     */
+    @Scheduled(fixedRateString = "${agents.assignment-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > stallTimeoutMs * 1_000_000) {
+                log.warn("Assignment feed client stalled for more than {} ms, disconnecting", stallTimeoutMs);
+                drop(subscriber, null);
+                continue;
+            }
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    private void append(AssignmentFeedEventDto.AssignmentFeedEventDtoBuilder event) {
+        synchronized (bufferLock) {
+            buffer.addLast(event.id(++lastEventId).occurredAt(LocalDateTime.now()).build());
+            while (buffer.size() > bufferSize) {
+                buffer.removeFirst();
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    // Marca al cliente como pendiente y le encola una tarea si no tiene ya una en curso
+    private void schedule(Subscriber subscriber) {
+        subscriber.pending.set(true);
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            // Queda pendiente: el siguiente heartbeat lo vuelve a intentar
+            subscriber.draining.set(false);
+            log.warn("Assignment feed sender queue full, delivery postponed");
+        }
+    }
+
+    // Entrega hasta que no quede nada pendiente; lo que llegue mientras tanto lo recoge el mismo bucle
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            subscriber.pending.set(false);
+            deliver(subscriber);
+            subscriber.draining.set(false);
+            if (!subscriber.pending.get() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        if (!subscribers.contains(subscriber)) {
+            return;
+        }
+        List<AssignmentFeedEventDto> events;
+        long latest;
+        synchronized (bufferLock) {
+            events = new ArrayList<>(buffer);
+            latest = lastEventId;
+        }
+        long oldest = events.isEmpty() ? latest + 1 : events.get(0).getId();
+
+        if (subscriber.heartbeatDue) {
+            subscriber.heartbeatDue = false;
+            if (!send(subscriber, SseEmitter.event().comment("heartbeat"))) {
+                return;
+            }
+        }
+        // Id desconocido: anterior al buffer (cliente que se quedó atrás) o de antes de un reinicio
+        if (subscriber.lastSentId < oldest - 1 || subscriber.lastSentId > latest) {
+            subscriber.lastSentId = latest;
+            if (!send(subscriber, SseEmitter.event().name(RESET_EVENT).id(String.valueOf(latest)).data("{}"))) {
+                return;
+            }
+        }
+        for (AssignmentFeedEventDto event : events) {
+            if (event.getId() <= subscriber.lastSentId) {
+                continue;
+            }
+            if (!send(subscriber, SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getType())
+                .data(event))) {
+                return;
+            }
+            subscriber.lastSentId = event.getId();
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.sendStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado
+            drop(subscriber, e);
+            return false;
+        } finally {
+            subscriber.sendStartedNanos = 0;
+        }
+    }
+
+    // Nunca toca el emitter en el hilo que llama: puede estar bloqueado por un envío en curso
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        try {
+            closer.execute(() -> {
+                if (cause != null) {
+                    subscriber.emitter.completeWithError(cause);
+                } else {
+                    subscriber.emitter.complete();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // El emitter lo cerrará su timeout; ya no recibe envíos
+            log.warn("Assignment feed close queue full, leaving emitter to time out");
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        // Solo lo modifica la tarea de envío del cliente, que nunca corre dos veces a la vez
+        private long lastSentId;
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        // Inicio del envío en curso (System.nanoTime), 0 si no hay ninguno
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter, long lastSentId) {
+            this.emitter = emitter;
+            this.lastSentId = lastSentId;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.ConnectionPoolStatsDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ocupación del pool de conexiones de Hikari, para comprobar que las llamadas HTTP salientes
+ * ya no retienen conexiones. El pico de conexiones activas se muestrea cada segundo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConnectionPoolMonitor {
+    private final DataSource dataSource;
+    private final GithubService githubService;
+
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    @Scheduled(fixedRate = 1000)
+    public void sample() {
+        HikariPoolMXBean pool = poolBean();
+        if (pool != null) {
+            peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+        }
+    }
+
+    public ConnectionPoolStatsDto stats() {
+        HikariPoolMXBean pool = poolBean();
+        HikariDataSource hikari = hikari();
+        return ConnectionPoolStatsDto.builder()
+            .poolName(hikari != null ? hikari.getPoolName() : null)
+            .active(pool != null ? pool.getActiveConnections() : 0)
+            .idle(pool != null ? pool.getIdleConnections() : 0)
+            .total(pool != null ? pool.getTotalConnections() : 0)
+            .maximumPoolSize(hikari != null ? hikari.getMaximumPoolSize() : 0)
+            .threadsAwaitingConnection(pool != null ? pool.getThreadsAwaitingConnection() : 0)
+            .peakActive(peakActive.get())
+            .githubCallsInsideTransaction(githubService.getCallsInsideTransaction())
+            .build();
+    }
+
+    private HikariPoolMXBean poolBean() {
+        HikariDataSource hikari = hikari();
+        return hikari != null ? hikari.getHikariPoolMXBean() : null;
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
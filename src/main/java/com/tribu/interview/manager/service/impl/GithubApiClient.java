@@ -0,0 +1,256 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.service.cache.BoundedTtlCache;
+import com.tribu.interview.manager.service.cache.CacheRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cliente HTTP de la API REST de GitHub (solo lecturas). Hace peticiones condicionales con el
+ * ETag de la última respuesta (los 304 no consumen cuota) y sigue los encabezados de límite de
+ * peticiones: cerca del límite espacia las llamadas, y sin cuota (o tras un Retry-After) espera
+ * hasta {@code github.rate-limit.max-wait-ms} o falla con {@link GithubRateLimitedException}
+ * sin llegar a llamar a GitHub.
+ * La URL base es configurable ({@code github.api.base-url}) para poder apuntar a un servidor simulado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GithubApiClient {
+    public static final String ETAG_CACHE_NAME = "github-etags";
+
+    private final RestTemplate restTemplate;
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${github.api.base-url:https://api.github.com}")
+    private String baseUrl;
+
+    @Value("${github.api.token}")
+    private String githubToken;
+
+    @Value("${github.etag-cache.max-size:5000}")
+    private int etagCacheMaxSize;
+
+    @Value("${github.etag-cache.ttl-seconds:86400}")
+    private long etagCacheTtlSeconds;
+
+    // Por debajo de esta cuota restante las llamadas se reparten hasta el siguiente reset
+    @Value("${github.rate-limit.reserve:100}")
+    private int reserve;
+
+    @Value("${github.rate-limit.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    private HttpHeaders defaultHeaders;
+    private BoundedTtlCache<String, CachedResponse> etagCache;
+
+    @Getter
+    private volatile Long limit;
+    @Getter
+    private volatile Long remaining;
+    @Getter
+    private volatile Instant resetAt;
+    // Fijado por un Retry-After o por agotar la cuota; antes de esa hora no se llama a GitHub
+    @Getter
+    private volatile Instant blockedUntil;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong paced = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "token " + githubToken);
+        headers.set(HttpHeaders.ACCEPT, "application/vnd.github+json");
+        headers.set("X-GitHub-Api-Version", "2022-11-28");
+        defaultHeaders = HttpHeaders.readOnlyHttpHeaders(headers);
+        etagCache = cacheRegistry.create(ETAG_CACHE_NAME, etagCacheMaxSize, Duration.ofSeconds(etagCacheTtlSeconds));
+    }
+
+    /**
+     * GET {@code path} relativo a la URL base.
+     *
+     * @return el cuerpo, o vacío si GitHub responde 404
+     * @throws GithubRateLimitedException si GitHub nos limita o no queda cuota
+     */
+    public <T> Optional<T> get(String path, Class<T> type) {
+        awaitQuota();
+
+        CachedResponse cached = etagCache.get(path);
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(defaultHeaders);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+
+        requests.incrementAndGet();
+        ResponseEntity<T> response;
+        try {
+            response = restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), type);
+        } catch (HttpClientErrorException.NotFound e) {
+            recordRateLimit(e.getResponseHeaders());
+            etagCache.invalidate(path);
+            return Optional.empty();
+        } catch (HttpClientErrorException e) {
+            recordRateLimit(e.getResponseHeaders());
+            if (isThrottled(e)) {
+                throttled.incrementAndGet();
+                Duration retryAfter = blockFor(e.getResponseHeaders());
+                log.warn("GitHub rate limit hit on {}, blocking calls for {} s", path, retryAfter.toSeconds());
+                throw new GithubRateLimitedException(retryAfter);
+            }
+            throw e;
+        }
+
+        recordRateLimit(response.getHeaders());
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            notModified.incrementAndGet();
+            return Optional.of(type.cast(cached.body()));
+        }
+
+        T body = response.getBody();
+        String etag = response.getHeaders().getETag();
+        if (etag != null && body != null) {
+            etagCache.put(path, new CachedResponse(etag, body));
+        }
+        return Optional.ofNullable(body);
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getPaced() {
+        return paced.get();
+    }
+
+    /*
+     * Antes de cada llamada: si estamos bloqueados se espera (hasta maxWaitMs) o se falla; si la
+     * cuota restante está por debajo de la reserva se espacia la llamada repartiendo lo que queda
+     * hasta el reset.
+     */
+    private void awaitQuota() {
+        Instant now = Instant.now();
+        Instant blocked = blockedUntil;
+        if (blocked != null && blocked.isAfter(now)) {
+            Duration wait = Duration.between(now, blocked);
+            if (wait.toMillis() > maxWaitMs) {
+                throw new GithubRateLimitedException(wait);
+            }
+            sleep(wait);
+            return;
+        }
+
+        Long left = remaining;
+        Instant reset = resetAt;
+        if (left == null || reset == null || left > reserve || !reset.isAfter(now)) {
+            return;
+        }
+        if (left <= 0) {
+            Duration wait = Duration.between(now, reset);
+            if (wait.toMillis() > maxWaitMs) {
+                throw new GithubRateLimitedException(wait);
+            }
+            sleep(wait);
+            return;
+        }
+        Duration spacing = Duration.between(now, reset).dividedBy(left);
+        paced.incrementAndGet();
+        sleep(spacing.toMillis() > maxWaitMs ? Duration.ofMillis(maxWaitMs) : spacing);
+    }
+
+    private void recordRateLimit(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        Long headerLimit = longHeader(headers, "X-RateLimit-Limit");
+        Long headerRemaining = longHeader(headers, "X-RateLimit-Remaining");
+        Long headerReset = longHeader(headers, "X-RateLimit-Reset");
+        if (headerLimit != null) {
+            limit = headerLimit;
+        }
+        if (headerRemaining != null) {
+            remaining = headerRemaining;
+        }
+        if (headerReset != null) {
+            resetAt = Instant.ofEpochSecond(headerReset);
+        }
+    }
+
+    // 429, o 403 con la cuota agotada o con Retry-After (límite secundario)
+    private boolean isThrottled(HttpClientErrorException e) {
+        if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+            return true;
+        }
+        if (e.getStatusCode() != HttpStatus.FORBIDDEN) {
+            return false;
+        }
+        HttpHeaders headers = e.getResponseHeaders();
+        return headers != null && (headers.containsKey(HttpHeaders.RETRY_AFTER)
+            || Long.valueOf(0).equals(longHeader(headers, "X-RateLimit-Remaining")));
+    }
+
+    private Duration blockFor(HttpHeaders headers) {
+        Long retryAfter = headers != null ? longHeader(headers, HttpHeaders.RETRY_AFTER) : null;
+        Instant until;
+        if (retryAfter != null) {
+            until = Instant.now().plusSeconds(retryAfter);
+        } else if (resetAt != null && resetAt.isAfter(Instant.now())) {
+            until = resetAt;
+        } else {
+            // GitHub recomienda esperar al menos un minuto si no indica cuánto
+            until = Instant.now().plusSeconds(60);
+        }
+        blockedUntil = until;
+        return Duration.between(Instant.now(), until);
+    }
+
+    private static Long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(Math.max(duration.toMillis(), 0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record CachedResponse(String etag, Object body) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.tribu.interview.manager.service.impl;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * GitHub nos está limitando (o lo hará antes de que se libere cuota). Se responde 503 con
+ * Retry-After en lugar del 400 genérico de usuario no verificado.
+ */
+@Getter
+public class GithubRateLimitedException extends ResponseStatusException {
+    private final Duration retryAfter;
+
+    public GithubRateLimitedException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE,
+            "GitHub no acepta más peticiones por ahora, inténtelo de nuevo en " + Math.max(retryAfter.toSeconds(), 1) + " segundos");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(retryAfter.toSeconds(), 1)));
+        return headers;
+    }
+}
@@ -1,29 +1,41 @@
 package com.tribu.interview.manager.service.impl;
 
+import com.tribu.interview.manager.dto.CacheStatsDto;
+import com.tribu.interview.manager.dto.GithubClientStatsDto;
 import com.tribu.interview.manager.dto.GithubUserResponse;
 import com.tribu.interview.manager.service.IGithubService;
+import com.tribu.interview.manager.service.cache.BoundedTtlCache;
+import com.tribu.interview.manager.service.cache.CacheRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kohsuke.github.*;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GithubService implements IGithubService {
-    private final RestTemplate restTemplate;
+    public static final String USER_CACHE_NAME = "github-users";
+
+    private final GithubApiClient githubApiClient;
+    private final CacheRegistry cacheRegistry;
     
     @Value("${github.api.token}")
     private String githubToken;
@@ -34,36 +46,125 @@ public class GithubService implements IGithubService {
     @Value("${github.repository.name}")
     private String repositoryName;
 
+    @Value("${github.user-cache.max-size:5000}")
+    private int userCacheMaxSize;
+
+    @Value("${github.user-cache.ttl-seconds:3600}")
+    private long userCacheTtlSeconds;
+
+    @Value("${github.user-cache.not-found-ttl-seconds:60}")
+    private long userCacheNotFoundTtlSeconds;
+
+    @Value("${github.lookup.max-concurrent-requests:8}")
+    private int maxConcurrentRequests;
+
+    @Value("${github.lookup.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
     private GitHub github;
-    
+    private BoundedTtlCache<String, UserLookup> userCache;
+    private Semaphore requestPermits;
+    private final AtomicLong callsInsideTransaction = new AtomicLong();
+    private final AtomicLong rejectedLookups = new AtomicLong();
+
     @PostConstruct
     public void init() throws IOException {
         github = new GitHubBuilder()
             .withOAuthToken(githubToken)
             .build();
+        userCache = cacheRegistry.create(USER_CACHE_NAME, userCacheMaxSize, Duration.ofSeconds(userCacheTtlSeconds));
+        requestPermits = new Semaphore(maxConcurrentRequests);
     }
 
+    /**
+     * Datos públicos del usuario de GitHub, cacheados. Los usuarios inexistentes se cachean
+     * durante menos tiempo; los errores (timeouts, 5xx, límite de peticiones) no se cachean.
+     * Las búsquedas concurrentes del mismo usuario comparten una única llamada a GitHub (la caché
+     * es single-flight).
+     *
+     * @throws ResponseStatusException 503 si hay demasiadas llamadas a GitHub en curso o GitHub nos
+     *                                 está limitando ({@link GithubRateLimitedException}, con Retry-After)
+     */
     @Override
     public Optional<GithubUserResponse> fetchUserData(String username) {
+        if (!StringUtils.hasText(username)) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            callsInsideTransaction.incrementAndGet();
+            log.warn("GitHub lookup for {} made inside a database transaction", username);
+        }
+
+        UserLookup lookup = userCache.getOrLoad(userCacheKey(username), key -> requestWithPermit(username),
+            result -> result.user() != null
+                ? Duration.ofSeconds(userCacheTtlSeconds)
+                : Duration.ofSeconds(userCacheNotFoundTtlSeconds));
+        return lookup == null ? Optional.empty() : Optional.ofNullable(lookup.user());
+    }
+
+    public GithubClientStatsDto getClientStats() {
+        CacheStatsDto cacheStats = userCache.stats();
+        return GithubClientStatsDto.builder()
+            .maxConcurrentRequests(maxConcurrentRequests)
+            .availablePermits(requestPermits.availablePermits())
+            .inFlightLookups(cacheStats.getLoadsInFlight())
+            .coalescedLookups(cacheStats.getCoalescedLoads())
+            .rejectedLookups(rejectedLookups.get())
+            .requests(githubApiClient.getRequests())
+            .notModifiedResponses(githubApiClient.getNotModified())
+            .throttledResponses(githubApiClient.getThrottled())
+            .pacedRequests(githubApiClient.getPaced())
+            .rateLimit(githubApiClient.getLimit())
+            .rateLimitRemaining(githubApiClient.getRemaining())
+            .rateLimitResetAt(githubApiClient.getResetAt())
+            .blockedUntil(githubApiClient.getBlockedUntil())
+            .build();
+    }
+
+    public long getCallsInsideTransaction() {
+        return callsInsideTransaction.get();
+    }
+
+    public void evictUser(String username) {
+        userCache.invalidate(userCacheKey(username));
+    }
+
+    // Los logins de GitHub no distinguen mayúsculas
+    private String userCacheKey(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Limita las llamadas simultáneas a GitHub; si no hay permiso a tiempo se responde 503
+    private UserLookup requestWithPermit(String username) {
+        boolean acquired;
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "token " + githubToken);
-            headers.set("Accept", "application/vnd.github+json");
-            headers.set("X-GitHub-Api-Version", "2022-11-28");
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            var response = restTemplate.exchange(
-                "https://api.github.com/users/" + username,
-                HttpMethod.GET,
-                entity,
-                GithubUserResponse.class
-            );
-            
-            return Optional.ofNullable(response.getBody());
+            acquired = requestPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (!acquired) {
+            rejectedLookups.incrementAndGet();
+            log.warn("Rejected GitHub lookup for {}: {} requests already in progress", username, maxConcurrentRequests);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Hay demasiadas verificaciones de GitHub en curso, inténtelo de nuevo en unos segundos");
+        }
+        try {
+            return requestUserData(username);
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    private UserLookup requestUserData(String username) {
+        try {
+            return new UserLookup(githubApiClient.get("/users/" + username, GithubUserResponse.class).orElse(null));
+        } catch (GithubRateLimitedException e) {
+            // Se propaga (503 con Retry-After) en lugar de tratarse como usuario no verificado
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching GitHub data for user {}: {}", username, e.getMessage());
-            return Optional.empty();
+            return null;
         }
     }
 
@@ -168,4 +269,8 @@ public class GithubService implements IGithubService {
             .replaceAll("[^a-z0-9.-]", "-")
             .replaceAll("-+", "-");
     }
-} 
\ No newline at end of file
+
+    // user null = el usuario no existe en GitHub
+    private record UserLookup(GithubUserResponse user) {
+    }
+}
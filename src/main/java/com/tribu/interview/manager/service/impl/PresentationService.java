@@ -32,12 +32,12 @@ import java.util.Collections;
 @CacheConfig(cacheNames = "presentations")
 public class PresentationService implements IPresentationService {
     private final JdbcPresentationRepository presentationRepository;
+    private final PresentationSlotAllocator slotAllocator;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMMM yyyy");
-    private static final int MAX_PRESENTATIONS_PER_DATE = 5;
 
     @Transactional
     public Presentation createPresentation(AgentAssignment assignment) {
-        LocalDateTime presentationDate = calculateNextAvailablePresentationDate();
+        LocalDateTime presentationDate = slotAllocator.claimNextSlot();
 
         Presentation presentation = Presentation.builder()
             .assignment(assignment)
@@ -86,27 +86,6 @@ public class PresentationService implements IPresentationService {
         }
     }
 
-    private LocalDateTime calculateNextAvailablePresentationDate() {
-        LocalDateTime latestDate = presentationRepository.findLatestPresentationDate()
-            .orElse(LocalDateTime.of(2025, 1, 21, 18, 0));
-
-        long presentationsCount = countPresentationsForDate(latestDate);
-        
-        if (presentationsCount >= MAX_PRESENTATIONS_PER_DATE) {
-            return getTargetPresentationDate(latestDate.plusDays(1));
-        }
-        
-        return latestDate;
-    }
-
-    private long countPresentationsForDate(LocalDateTime date) {
-        LocalDateTime startOfDay = date.withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfDay = date.withHour(23).withMinute(59).withSecond(59);
-        
-        List<CalendarPresentationDto> presentations = presentationRepository.findPresentationsForRange(startOfDay, endOfDay);
-        return presentations.size();
-    }
-
     @Recover
     public WeekPresentationsResponse recover(CannotGetJdbcConnectionException e) {
         log.error("All retries failed for database connection when fetching presentations", e);
@@ -0,0 +1,112 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.repository.jdbc.JdbcPresentationSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Optional;
+
+/**
+ * Asigna fechas de presentación sobre la tabla presentation_slots: un cupo por martes a las 18:00
+ * con {@code presentations.slots.capacity} lugares. Los cupos de las próximas
+ * {@code presentations.slots.weeks-ahead} semanas se generan al arrancar y cada día; la reserva es
+ * un único UPDATE atómico, de modo que las altas concurrentes nunca llenan un martes de más. El
+ * vencimiento de asignaciones devuelve el lugar de las presentaciones que cancela; además, el uso
+ * de los cupos se recalcula al arrancar y según {@code presentations.slots.reconcile-cron} para
+ * corregir cualquier desviación (cambios hechos directamente en la base de datos...).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PresentationSlotAllocator {
+    private static final LocalTime PRESENTATION_TIME = LocalTime.of(18, 0);
+    // Hasta cuántas veces weeks-ahead se amplía el horizonte cuando todos los cupos están llenos
+    private static final int MAX_HORIZON_FACTOR = 5;
+
+    private final JdbcPresentationSlotRepository slotRepository;
+
+    @Value("${presentations.slots.capacity:5}")
+    private int capacity;
+
+    @Value("${presentations.slots.weeks-ahead:26}")
+    private int weeksAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateOnStartup() {
+        reconcileSlots();
+        generateUpcomingSlots();
+    }
+
+    @Scheduled(cron = "${presentations.slots.reconcile-cron:0 30 3 * * *}")
+    public void reconcileSlots() {
+        long start = System.currentTimeMillis();
+        try {
+            int corrected = slotRepository.reconcileUsed();
+            log.info("Presentation slots reconciled: {} rows corrected in {} ms",
+                corrected, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Error reconciling presentation slots", e);
+        }
+    }
+
+    @Scheduled(cron = "${presentations.slots.generate-cron:0 0 3 * * *}")
+    public void generateUpcomingSlots() {
+        try {
+            int created = generateSlots(weeksAhead);
+            if (created > 0) {
+                log.info("Generated {} presentation slots", created);
+            }
+        } catch (Exception e) {
+            log.error("Error generating presentation slots", e);
+        }
+    }
+
+    /**
+     * Reserva un lugar en el primer martes con capacidad libre (nunca en el pasado) y devuelve
+     * la fecha de presentación. Debe llamarse dentro de la transacción que guarda la
+     * presentación, para que el lugar se libere si esta se revierte.
+     * Una reserva fallida mientras quedan cupos libres significa que otra reserva se llevó el
+     * último lugar del cupo elegido, así que se reintenta sin límite: cada fallo es un éxito de
+     * otro. Solo cuando no queda ningún cupo libre se amplía el horizonte, hasta
+     * {@link #MAX_HORIZON_FACTOR} veces weeks-ahead.
+     */
+    public LocalDateTime claimNextSlot() {
+        LocalDateTime now = LocalDateTime.now();
+        int horizonWeeks = weeksAhead;
+        while (true) {
+            Optional<LocalDateTime> slot = slotRepository.claimFirstOpen(now);
+            if (slot.isPresent()) {
+                return slot.get();
+            }
+            if (slotRepository.hasOpenSlotFrom(now)) {
+                continue;
+            }
+            if (horizonWeeks >= weeksAhead * MAX_HORIZON_FACTOR) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "No hay fechas de presentación disponibles, inténtelo de nuevo");
+            }
+            // Todos los cupos generados están llenos: se amplía el horizonte
+            horizonWeeks += weeksAhead;
+            generateSlots(horizonWeeks);
+        }
+    }
+
+    private int generateSlots(int weeks) {
+        LocalDateTime firstTuesday = LocalDate.now()
+            .with(TemporalAdjusters.previousOrSame(DayOfWeek.TUESDAY))
+            .atTime(PRESENTATION_TIME);
+        return slotRepository.generateWeekly(firstTuesday, firstTuesday.plusWeeks(weeks), capacity);
+    }
+}
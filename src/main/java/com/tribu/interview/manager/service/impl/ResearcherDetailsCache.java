@@ -0,0 +1,71 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.dto.ResearcherDetailDto;
+import com.tribu.interview.manager.event.AgentAssignmentChangedEvent;
+import com.tribu.interview.manager.event.AgentAssignmentsExpiredEvent;
+import com.tribu.interview.manager.event.ResearcherChangedEvent;
+import com.tribu.interview.manager.service.cache.BoundedTtlCache;
+import com.tribu.interview.manager.service.cache.CacheRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caché por email de GET /researchers/details. Las entradas de un investigador se invalidan
+ * cuando cambian su perfil, sus asignaciones o sus presentaciones.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResearcherDetailsCache {
+    public static final String CACHE_NAME = "researcher-details";
+
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${researchers.details-cache.max-size:2000}")
+    private int maxSize;
+
+    @Value("${researchers.details-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private BoundedTtlCache<String, ResearcherDetailDto> cache;
+
+    @PostConstruct
+    void init() {
+        cache = cacheRegistry.create(CACHE_NAME, maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public Optional<ResearcherDetailDto> findByEmail(String email, Function<String, ResearcherDetailDto> loader) {
+        return Optional.ofNullable(cache.getOrLoad(email, loader));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentChanged(AgentAssignmentChangedEvent event) {
+        evictResearcher(event.getResearcherId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsExpired(AgentAssignmentsExpiredEvent event) {
+        Set<String> researcherIds = event.getResearcherIds();
+        cache.invalidateIf((email, details) -> researcherIds.contains(details.getId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResearcherChanged(ResearcherChangedEvent event) {
+        evictResearcher(event.getResearcherId());
+    }
+
+    private void evictResearcher(String researcherId) {
+        if (researcherId == null) {
+            cache.clear();
+            return;
+        }
+        cache.invalidateIf((email, details) -> researcherId.equals(details.getId()));
+    }
+}
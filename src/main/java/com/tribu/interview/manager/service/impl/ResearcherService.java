@@ -1,14 +1,14 @@
 package com.tribu.interview.manager.service.impl;
 
 import com.tribu.interview.manager.dto.*;
+import com.tribu.interview.manager.dto.enums.AssignmentCreationStatusEnum;
 import com.tribu.interview.manager.dto.enums.ResearcherTypeEnum;
 import com.tribu.interview.manager.model.AIAgent;
 import com.tribu.interview.manager.model.AgentAssignment;
 import com.tribu.interview.manager.model.Presentation;
 import com.tribu.interview.manager.model.Researcher;
-import com.tribu.interview.manager.repository.jdbc.JdbcAIAgentRepository;
+import com.tribu.interview.manager.model.ResearcherDetails;
 import com.tribu.interview.manager.repository.jdbc.JdbcAgentAssignmentRepository;
-import com.tribu.interview.manager.repository.jdbc.JdbcPresentationRepository;
 import com.tribu.interview.manager.repository.jdbc.JdbcResearcherRepository;
 import com.tribu.interview.manager.service.IGithubService;
 import com.tribu.interview.manager.service.IResearcherService;
@@ -17,12 +17,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
-import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -33,36 +35,46 @@ public class ResearcherService implements IResearcherService {
     private final IGithubService githubService;
     private final PresentationService presentationService;
     private final JdbcAgentAssignmentRepository assignmentRepository;
-    private final JdbcAIAgentRepository aiAgentRepository;
-    private final JdbcPresentationRepository presentationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ResearcherDetailsCache researcherDetailsCache;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMMM yyyy");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
 
+    /**
+     * El registro se hace en dos fases para no retener una conexión del pool durante la llamada
+     * a GitHub: primero la verificación en GitHub y después una transacción corta con todas
+     * las escrituras. Antes de GitHub se descarta, con una consulta rápida, un agente inexistente
+     * o con investigador principal ya asignado.
+     */
     @Override
-    @Transactional
     public ResearcherResponse createResearcher(ResearcherRequest request) {
         log.info("Creating new researcher with email: {}", request.getEmail());
 
-        validateAgentExists(request.getAgentId());
+        // Fase externa, sin transacción. createActive vuelve a validar el agente y las reglas
+        assignmentRepository.precheckActive(request.getAgentId(), normalizeRole(request.getRole()))
+            .ifPresent(this::rejectAssignment);
         GithubUserResponse githubData = fetchGithubData(request.getGithubUsername());
 
-        // Obtener o crear investigador
-        Researcher researcher = researcherRepository.findByEmail(request.getEmail())
-            .map(existing -> updateExistingResearcher(existing, request, githubData))
-            .orElseGet(() -> createAndSaveNewResearcher(request, githubData));
-
-        // Create assignment and schedule presentation
-        AgentAssignment assignment = createAgentAssignment(researcher, request.getAgentId(), request.getRole());
-        log.info("Assignment created for researcher: {} and agent: {}",
-            researcher.getId(), request.getAgentId());
+        // Fase de base de datos
+        return transactionTemplate.execute(status -> {
+            // Obtener o crear investigador
+            Researcher researcher = researcherRepository.findByEmail(request.getEmail())
+                .map(existing -> updateExistingResearcher(existing, request, githubData))
+                .orElseGet(() -> createAndSaveNewResearcher(request, githubData));
+
+            // Create assignment and schedule presentation
+            AgentAssignment assignment = createAgentAssignment(researcher, request.getAgentId(), request.getRole());
+            log.info("Assignment created for researcher: {} and agent: {}",
+                researcher.getId(), request.getAgentId());
+
+            Presentation presentation = null;
+            if (assignment.getRole().equalsIgnoreCase("PRIMARY")) {
+                presentation = presentationService.createPresentation(assignment);
+                log.info("Presentation scheduled for week: {}", presentation);
+            }
 
-        Presentation presentation = null;
-        if (assignment.getRole().equalsIgnoreCase("PRIMARY")) {
-            presentation = presentationService.createPresentation(assignment);
-            log.info("Presentation scheduled for week: {}", presentation);
-        }
-        
-        return buildSuccessResponse(researcher, assignment, presentation);
+            return buildSuccessResponse(researcher, assignment, presentation);
+        });
     }
 
     @Override
@@ -82,8 +94,6 @@ public class ResearcherService implements IResearcherService {
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, 
                 "Investigador no encontrado. Debe registrarse primero"));
 
-        validateAgentExists(request.getAgentId());
-
         // Create assignment and schedule presentation
         AgentAssignment assignment = createAgentAssignment(researcher, request.getAgentId(), request.getRole());
         log.info("Assignment created for researcher: {} and agent: {}", 
@@ -127,13 +137,6 @@ public class ResearcherService implements IResearcherService {
     }
 
 
-    private void validateAgentExists(String agentId) {
-        if (aiAgentRepository.findById(agentId).isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, 
-                "Agent not found");
-        }
-    }
-
     private GithubUserResponse fetchGithubData(String githubUsername) {
         return githubService.fetchUserData(githubUsername)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, 
@@ -154,65 +157,49 @@ public class ResearcherService implements IResearcherService {
             .build();
     }
 
+    /**
+     * Valida el agente, aplica las reglas de PRIMARY/CONTRIBUTOR e inserta la asignación en una
+     * sola sentencia. Las reglas las garantizan índices únicos, así que dos solicitudes
+     * concurrentes nunca acaban con dos asignaciones incompatibles.
+     */
     private AgentAssignment createAgentAssignment(Researcher researcher,
                                                   String agentId,
                                                   String roleRequest) {
 
-        AIAgent agent = aiAgentRepository.findById(agentId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Agent not found"));
-
-        String role = "";
-        if(ResearcherTypeEnum.CONTRIBUTOR.name().equalsIgnoreCase(roleRequest)){
-            role = ResearcherTypeEnum.CONTRIBUTOR.name();
-            validateContributorResearcher(researcher, agentId);
-        } else {
-            role = ResearcherTypeEnum.PRIMARY.name();
-            validatePrimaryResearcher(researcher, agentId);
-        }
-
+        AgentAssignment assignment = AgentAssignment.builder()
+            .researcher(researcher)
+            .agent(AIAgent.builder().id(agentId).build())
+            .role(normalizeRole(roleRequest))
+            .build();
 
-        try {
-            return assignmentRepository.save(AgentAssignment.builder()
-                .researcher(researcher)
-                .agent(agent)
-                .status("active")
-                .role(role)
-                .assignedAt(LocalDateTime.now())
-                .build());
-        } catch (DataIntegrityViolationException e) {
-            if (e.getMessage() != null && e.getMessage().contains("unique_assignment_pair")) {
-                throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, 
-                    "Ya tienes una asignación activa para este agente"
-                );
-            }
-            throw e;
+        AssignmentCreationStatusEnum status = assignmentRepository.createActive(assignment);
+        if (status != AssignmentCreationStatusEnum.CREATED) {
+            rejectAssignment(status);
         }
+        return assignment;
     }
 
-    private void validateContributorResearcher(Researcher researcher, String agentId) {
-
-
-        boolean existAssignment = assignmentRepository.existsByResearcherIdAndAgentIdWhitContributorRole(researcher.getId());
-
-        if (existAssignment){
-            throw new AssigmentOpenException("Tienes una investigación abierta debes cerrarla antes de generar una nueva documentación");
-        }
-
-        validatePrimaryResearcher(researcher, agentId);
+    private String normalizeRole(String roleRequest) {
+        return ResearcherTypeEnum.CONTRIBUTOR.name().equalsIgnoreCase(roleRequest)
+            ? ResearcherTypeEnum.CONTRIBUTOR.name()
+            : ResearcherTypeEnum.PRIMARY.name();
     }
 
-    private void validatePrimaryResearcher(Researcher researcher, String agentId) {
-
-        boolean existAssignment = assignmentRepository.existsByResearcherIdAndAgentId(researcher.getId(), agentId);
-
-        if (existAssignment){
-            throw new AssigmentOpenException("Tienes una investigación con el mismo agente abierta debes cerrarla antes de generar una nueva documentación");
+    private void rejectAssignment(AssignmentCreationStatusEnum status) {
+        switch (status) {
+            case AGENT_NOT_FOUND -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Agent not found");
+            case CONTRIBUTION_OPEN -> throw new AssigmentOpenException(
+                "Tienes una investigación abierta debes cerrarla antes de generar una nueva documentación");
+            case SAME_AGENT_OPEN -> throw new AssigmentOpenException(
+                "Tienes una investigación con el mismo agente abierta debes cerrarla antes de generar una nueva documentación");
+            case PRIMARY_TAKEN -> throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Este agente ya tiene un investigador principal asignado");
+            case DUPLICATE_ASSIGNMENT -> throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Ya tienes una asignación activa para este agente");
+            default -> throw new IllegalStateException("Unexpected assignment status: " + status);
         }
     }
 
-
-
     private ResearcherResponse buildSuccessResponse(
             Researcher researcher,
             AgentAssignment assignment,
@@ -239,29 +226,28 @@ public class ResearcherService implements IResearcherService {
     }
 
     public ResearcherDetailDto getResearcherDetailsByEmail(String email) {
-        // Obtener investigador
-        Researcher researcher = researcherRepository.findByEmail(email)
+        return researcherDetailsCache.findByEmail(email, this::loadResearcherDetails)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Investigador no encontrado"));
+    }
 
-        // Obtener todas las investigaciones activas del investigador
-        List<AgentResearcherResponseDto> agentResearcherResponseDtos = aiAgentRepository.findAllByStateAndResearcherId("active",
-                researcher.getId());
+    private ResearcherDetailDto loadResearcherDetails(String email) {
+        // Investigador, investigaciones y presentaciones en una sola consulta
+        ResearcherDetails details = researcherRepository.findDetailsByEmail(email).orElse(null);
+        if (details == null) {
+            return null;
+        }
+        Researcher researcher = details.getResearcher();
 
         // Separar investigaciones primarias y contribuciones
-        List<AgentResearcherResponseDto> primaryResearches = agentResearcherResponseDtos.stream()
+        List<AgentResearcherResponseDto> primaryResearches = details.getResearches().stream()
                 .filter(dto -> ResearcherTypeEnum.PRIMARY.name().equalsIgnoreCase(dto.getRole()))
                 .toList();
 
-        List<AgentResearcherResponseDto> contributorResearches = agentResearcherResponseDtos.stream()
+        List<AgentResearcherResponseDto> contributorResearches = details.getResearches().stream()
                 .filter(dto -> ResearcherTypeEnum.CONTRIBUTOR.name().equalsIgnoreCase(dto.getRole()))
                 .toList();
 
-        // Obtener presentaciones para investigaciones primarias
-        List<String> primaryResearchesAssignmentIds = primaryResearches.stream()
-                .map(AgentResearcherResponseDto::getAssignmentId)
-                .toList();
-
-        List<Presentation> presentations = presentationRepository.findPresentationsByAssignmentIds(primaryResearchesAssignmentIds);
+        List<Presentation> presentations = details.getPresentations();
 
         // Construir el DTO de respuesta
         return ResearcherDetailDto.builder()
@@ -282,13 +268,14 @@ public class ResearcherService implements IResearcherService {
     private List<AgentPrimaryResearcherResponseDto> mapToPrimaryResearcherResponse(
             List<AgentResearcherResponseDto> primaryResearches,
             List<Presentation> presentations) {
-        
+
+        // Presentación más reciente por agente; las presentaciones vienen ordenadas por fecha descendente
+        Map<String, Presentation> presentationByAgent = new HashMap<>();
+        presentations.forEach(p -> presentationByAgent.putIfAbsent(p.getAssignment().getAgent().getId(), p));
+
         return primaryResearches.stream()
                 .map(research -> {
-                    // Buscar la presentación correspondiente
-                    Optional<Presentation> presentation = presentations.stream()
-                            .filter(p -> p.getAssignment().getAgent().getId().equals(research.getId()))
-                            .findFirst();
+                    Optional<Presentation> presentation = Optional.ofNullable(presentationByAgent.get(research.getId()));
 
                     return AgentPrimaryResearcherResponseDto.builder()
                             .assignmentId(research.getAssignmentId())
@@ -305,7 +292,7 @@ public class ResearcherService implements IResearcherService {
                 .toList();
     }
 
-    @Transactional
+    // Sin @Transactional: la consulta a GitHub se hace antes de la única escritura
     public ResearcherDetailDto updateResearcherProfile(String email, ResearcherUpdateDto updateDto) {
         Researcher researcher = researcherRepository.findByEmail(email)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Investigador no encontrado"));
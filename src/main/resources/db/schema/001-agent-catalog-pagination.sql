@@ -0,0 +1,24 @@
+-- Keyset pagination for GET /agents: (created_at, id) descending, optionally filtered by category/industry
+
+-- The keyset predicate and cursor need a value in every row: legacy NULLs become NOW(),
+-- which keeps them at the head of the catalog where ORDER BY created_at DESC put them
+UPDATE ai_agents SET created_at = NOW() WHERE created_at IS NULL;
+
+ALTER TABLE ai_agents ALTER COLUMN created_at SET DEFAULT NOW();
+
+ALTER TABLE ai_agents ALTER COLUMN created_at SET NOT NULL;
+
+-- id is ordered with COLLATE "C" (byte order) so the SQL order is the one the in-memory
+-- catalog snapshot reproduces; the earlier indexes used the database collation
+DROP INDEX IF EXISTS idx_ai_agents_created_at_id;
+DROP INDEX IF EXISTS idx_ai_agents_category_created_at_id;
+DROP INDEX IF EXISTS idx_ai_agents_industry_created_at_id;
+
+CREATE INDEX IF NOT EXISTS idx_ai_agents_created_at_id_c
+    ON ai_agents (created_at DESC, id COLLATE "C" DESC);
+
+CREATE INDEX IF NOT EXISTS idx_ai_agents_category_created_at_id_c
+    ON ai_agents (category, created_at DESC, id COLLATE "C" DESC);
+
+CREATE INDEX IF NOT EXISTS idx_ai_agents_industry_created_at_id_c
+    ON ai_agents (industry, created_at DESC, id COLLATE "C" DESC);
@@ -0,0 +1,10 @@
+-- Contadores por agente mantenidos por JdbcAgentAssignmentRepository y reconciliados en bloque
+CREATE TABLE IF NOT EXISTS agent_assignment_counters (
+    agent_id            TEXT PRIMARY KEY,
+    active_contributors INTEGER   NOT NULL DEFAULT 0,
+    active_primaries    INTEGER   NOT NULL DEFAULT 0,
+    updated_at          TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_agent_assignments_agent_status
+    ON agent_assignments (agent_id, status);
@@ -0,0 +1,15 @@
+-- Búsqueda full-text ponderada: nombre > tags/descripción corta > features/casos de uso > descripción larga.
+-- Se usa la configuración 'simple' (sin stemming) para que las búsquedas por prefijo sean predecibles
+-- con contenido mixto en español e inglés.
+ALTER TABLE ai_agents ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple'::regconfig, coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(tags, '')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(short_description, '')), 'B') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(key_features, '')), 'C') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(use_cases, '')), 'C') ||
+        setweight(to_tsvector('simple'::regconfig, coalesce(long_description, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_ai_agents_search_vector
+    ON ai_agents USING GIN (search_vector);
@@ -0,0 +1,6 @@
+-- Asignaciones terminadas por agente: un agente está documentado si tiene al menos una
+ALTER TABLE agent_assignment_counters
+    ADD COLUMN IF NOT EXISTS done_assignments INTEGER NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_agent_assignments_status
+    ON agent_assignments (status);
@@ -0,0 +1,3 @@
+-- Detalle de agente por slug (GET /agents/{idOrSlug})
+CREATE INDEX IF NOT EXISTS idx_ai_agents_slug
+    ON ai_agents (slug);
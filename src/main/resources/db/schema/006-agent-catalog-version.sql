@@ -0,0 +1,71 @@
+-- Versión del catálogo para la sincronización incremental (GET /agents/changes).
+-- Toda versión sale de next_catalog_version(): la usan las sentencias de JdbcAIAgentRepository
+-- (altas/modificaciones) y JdbcAgentAssignmentRepository (cambios de asignación), el DEFAULT de la
+-- columna (escrituras externas) y el trigger de borrado. nextval() reparte versiones al escribir,
+-- no al confirmar, así que la función registra cada transacción escritora para que los lectores
+-- no avancen más allá de ella.
+CREATE SEQUENCE IF NOT EXISTS ai_agents_catalog_version_seq;
+
+ALTER TABLE ai_agents ADD COLUMN IF NOT EXISTS catalog_version BIGINT
+    NOT NULL DEFAULT nextval('ai_agents_catalog_version_seq');
+
+CREATE INDEX IF NOT EXISTS idx_ai_agents_catalog_version
+    ON ai_agents (catalog_version);
+
+-- Lápidas de agentes borrados, con la versión en la que desaparecieron
+CREATE TABLE IF NOT EXISTS ai_agent_deletions (
+    agent_id        TEXT PRIMARY KEY,
+    catalog_version BIGINT    NOT NULL,
+    deleted_at      TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_ai_agent_deletions_catalog_version
+    ON ai_agent_deletions (catalog_version);
+
+-- Cuerpo entre comillas simples (no $$) para que el separador de sentencias de spring.sql.init no lo parta
+-- Cada transacción que escribe versiones toma, antes de la primera, un lock advisory compartido
+-- cuya clave es una versión menor que todas las que va a usar. Los locks de transacción se ven
+-- en pg_locks desde otras sesiones aunque la transacción no haya confirmado, y se sueltan al
+-- terminar: JdbcAIAgentRepository.currentCatalogVersion no pasa nunca de la menor clave viva.
+-- Se usa la forma de dos enteros con la primera clave fija (20613), un espacio de claves propio
+-- que no se mezcla con otros locks advisory de la base; por eso la versión no puede pasar de 2^31 - 1.
+CREATE OR REPLACE FUNCTION next_catalog_version() RETURNS bigint AS '
+DECLARE
+    floor_version BIGINT;
+BEGIN
+    IF COALESCE(current_setting(''catalog.writer_floor'', true), '''') = '''' THEN
+        floor_version := nextval(''ai_agents_catalog_version_seq'');
+        IF floor_version > 2147483647 THEN
+            RAISE EXCEPTION ''ai_agents_catalog_version_seq fuera del rango de los locks de escritor: %'', floor_version;
+        END IF;
+        PERFORM pg_advisory_xact_lock_shared(20613, floor_version::integer);
+        PERFORM set_config(''catalog.writer_floor'', floor_version::text, true);
+    END IF;
+    RETURN nextval(''ai_agents_catalog_version_seq'');
+END;
+' LANGUAGE plpgsql;
+
+ALTER TABLE ai_agents ALTER COLUMN catalog_version SET DEFAULT next_catalog_version();
+
+-- Sustituidos por next_catalog_version(): el trigger volvía a sellar cada fila, incluso las que un
+-- INSERT ... ON CONFLICT proponía y luego no escribía
+DROP TRIGGER IF EXISTS trg_ai_agents_stamp_catalog_version ON ai_agents;
+DROP FUNCTION IF EXISTS stamp_ai_agent_catalog_version();
+DROP FUNCTION IF EXISTS lock_catalog_writer();
+
+CREATE OR REPLACE FUNCTION record_ai_agent_deletion() RETURNS trigger AS '
+BEGIN
+    INSERT INTO ai_agent_deletions (agent_id, catalog_version, deleted_at)
+    VALUES (OLD.id, next_catalog_version(), NOW())
+    ON CONFLICT (agent_id) DO UPDATE
+    SET catalog_version = EXCLUDED.catalog_version,
+        deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+' LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_ai_agents_record_deletion ON ai_agents;
+
+CREATE TRIGGER trg_ai_agents_record_deletion
+    AFTER DELETE ON ai_agents
+    FOR EACH ROW EXECUTE FUNCTION record_ai_agent_deletion();
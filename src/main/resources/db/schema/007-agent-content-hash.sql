@@ -0,0 +1,2 @@
+-- Hash del contenido del agente (ver AgentContentHash): las cargas omiten las filas sin cambios
+ALTER TABLE ai_agents ADD COLUMN IF NOT EXISTS content_hash TEXT;
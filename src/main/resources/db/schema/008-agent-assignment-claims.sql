@@ -0,0 +1,98 @@
+-- Reglas de asignación garantizadas por la base de datos, para que dos altas concurrentes no
+-- puedan saltárselas (JdbcAgentAssignmentRepository.createActive traduce cada violación a su regla):
+--   * un único investigador PRIMARY activo por agente
+--   * una única asignación activa por investigador y agente
+--   * una única contribución activa por investigador
+-- Antes de cada índice se vencen ('expired') las asignaciones activas que ya incumplen la regla,
+-- conservando la más antigua, y se cancelan sus presentaciones programadas, igual que hace
+-- AssignmentExpiryService. Cada asignación vencida aquí queda en agent_assignment_repairs y
+-- AgentCounterReconciliationService la informa en el log al arrancar; los contadores por agente y
+-- el uso de presentation_slots se recalculan también al arrancar. Si aun así el índice no se puede
+-- crear, el arranque falla: la aplicación no debe funcionar sin estas garantías.
+CREATE TABLE IF NOT EXISTS agent_assignment_repairs (
+    assignment_id TEXT PRIMARY KEY,
+    rule          TEXT      NOT NULL,
+    repaired_at   TIMESTAMP NOT NULL DEFAULT NOW(),
+    reported_at   TIMESTAMP
+);
+
+WITH duplicates AS (
+    SELECT id
+    FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY investigador_id, agent_id ORDER BY assigned_at, id) AS rn
+          FROM agent_assignments
+          WHERE status = 'active') ranked
+    WHERE rn > 1
+), expired AS (
+    UPDATE agent_assignments
+    SET status = 'expired'
+    WHERE id IN (SELECT id FROM duplicates)
+    RETURNING id
+), cancelled AS (
+    UPDATE presentations p
+    SET status = 'CANCELLED'
+    FROM expired
+    WHERE p.assignment_id = expired.id
+    AND p.status = 'SCHEDULED'
+)
+INSERT INTO agent_assignment_repairs (assignment_id, rule)
+SELECT id, 'uq_agent_assignments_active_pair'
+FROM expired
+ON CONFLICT (assignment_id) DO NOTHING;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_agent_assignments_active_pair
+    ON agent_assignments (investigador_id, agent_id)
+    WHERE status = 'active';
+
+WITH duplicates AS (
+    SELECT id
+    FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY agent_id ORDER BY assigned_at, id) AS rn
+          FROM agent_assignments
+          WHERE status = 'active' AND role = 'PRIMARY') ranked
+    WHERE rn > 1
+), expired AS (
+    UPDATE agent_assignments
+    SET status = 'expired'
+    WHERE id IN (SELECT id FROM duplicates)
+    RETURNING id
+), cancelled AS (
+    UPDATE presentations p
+    SET status = 'CANCELLED'
+    FROM expired
+    WHERE p.assignment_id = expired.id
+    AND p.status = 'SCHEDULED'
+)
+INSERT INTO agent_assignment_repairs (assignment_id, rule)
+SELECT id, 'uq_agent_assignments_active_primary'
+FROM expired
+ON CONFLICT (assignment_id) DO NOTHING;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_agent_assignments_active_primary
+    ON agent_assignments (agent_id)
+    WHERE status = 'active' AND role = 'PRIMARY';
+
+WITH duplicates AS (
+    SELECT id
+    FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY investigador_id ORDER BY assigned_at, id) AS rn
+          FROM agent_assignments
+          WHERE status = 'active' AND role = 'CONTRIBUTOR') ranked
+    WHERE rn > 1
+), expired AS (
+    UPDATE agent_assignments
+    SET status = 'expired'
+    WHERE id IN (SELECT id FROM duplicates)
+    RETURNING id
+), cancelled AS (
+    UPDATE presentations p
+    SET status = 'CANCELLED'
+    FROM expired
+    WHERE p.assignment_id = expired.id
+    AND p.status = 'SCHEDULED'
+)
+INSERT INTO agent_assignment_repairs (assignment_id, rule)
+SELECT id, 'uq_agent_assignments_active_contribution'
+FROM expired
+ON CONFLICT (assignment_id) DO NOTHING;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_agent_assignments_active_contribution
+    ON agent_assignments (investigador_id)
+    WHERE status = 'active' AND role = 'CONTRIBUTOR';
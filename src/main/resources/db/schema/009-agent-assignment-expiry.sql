@@ -0,0 +1,4 @@
+-- Búsqueda de asignaciones activas vencidas (AssignmentExpiryService), de la más antigua a la más nueva
+CREATE INDEX IF NOT EXISTS idx_agent_assignments_active_assigned_at
+    ON agent_assignments (assigned_at)
+    WHERE status = 'active';
@@ -0,0 +1,14 @@
+-- Cupos de presentación por fecha (martes a las 18:00). PresentationSlotAllocator los genera por
+-- adelantado y reserva un cupo con un único UPDATE ... RETURNING; el CHECK impide sobrepasar la capacidad.
+CREATE TABLE IF NOT EXISTS presentation_slots (
+    slot_date  TIMESTAMP PRIMARY KEY,
+    capacity   INTEGER   NOT NULL,
+    used       INTEGER   NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT chk_presentation_slots_used CHECK (used >= 0 AND used <= capacity)
+);
+
+-- Búsqueda del primer cupo libre a partir de una fecha
+CREATE INDEX IF NOT EXISTS idx_presentation_slots_open
+    ON presentation_slots (slot_date)
+    WHERE used < capacity;
@@ -0,0 +1,168 @@
+package com.tribu.interview.manager.repository.jdbc;
+
+import com.tribu.interview.manager.dto.enums.AssignmentCreationStatusEnum;
+import com.tribu.interview.manager.model.AIAgent;
+import com.tribu.interview.manager.model.AgentAssignment;
+import com.tribu.interview.manager.model.Researcher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Altas concurrentes contra PostgreSQL real: las comprobaciones del CTE no ven las filas de las
+ * otras transacciones, así que lo que se prueba aquí son los índices únicos de 008.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcAgentAssignmentRepositoryConcurrencyTest {
+    private static final int PARALLEL_CLAIMS = 16;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+    private static JdbcAgentAssignmentRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource dataSource = PostgresTestSchema.create(POSTGRES);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        repository = new JdbcAgentAssignmentRepository(jdbcTemplate, event -> { },
+            new JdbcTransactionManager(dataSource));
+    }
+
+    @Test
+    void parallelPrimaryClaimsOnOneAgentCreateExactlyOnePrimary() throws Exception {
+        String agentId = insertAgent();
+        List<String> researcherIds = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_CLAIMS; i++) {
+            researcherIds.add(insertResearcher());
+        }
+
+        List<AssignmentCreationStatusEnum> results = runConcurrently(researcherIds,
+            researcherId -> repository.createActive(assignment(researcherId, agentId, "PRIMARY")));
+
+        Map<AssignmentCreationStatusEnum, Long> byStatus = countByStatus(results);
+        assertThat(byStatus).containsEntry(AssignmentCreationStatusEnum.CREATED, 1L);
+        assertThat(byStatus).containsEntry(AssignmentCreationStatusEnum.PRIMARY_TAKEN, PARALLEL_CLAIMS - 1L);
+        assertThat(count("""
+            SELECT COUNT(*) FROM agent_assignments
+            WHERE agent_id = :id AND status = 'active' AND role = 'PRIMARY'
+        """, agentId)).isEqualTo(1);
+        assertThat(count("SELECT active_primaries FROM agent_assignment_counters WHERE agent_id = :id", agentId))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void parallelContributionsFromOneResearcherCreateExactlyOne() throws Exception {
+        String researcherId = insertResearcher();
+        List<String> agentIds = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_CLAIMS; i++) {
+            agentIds.add(insertAgent());
+        }
+
+        List<AssignmentCreationStatusEnum> results = runConcurrently(agentIds,
+            agentId -> repository.createActive(assignment(researcherId, agentId, "CONTRIBUTOR")));
+
+        Map<AssignmentCreationStatusEnum, Long> byStatus = countByStatus(results);
+        assertThat(byStatus).containsEntry(AssignmentCreationStatusEnum.CREATED, 1L);
+        assertThat(byStatus).containsEntry(AssignmentCreationStatusEnum.CONTRIBUTION_OPEN, PARALLEL_CLAIMS - 1L);
+        assertThat(count("""
+            SELECT COUNT(*) FROM agent_assignments
+            WHERE investigador_id = :id AND status = 'active' AND role = 'CONTRIBUTOR'
+        """, researcherId)).isEqualTo(1);
+    }
+
+    @Test
+    void parallelClaimsOfTheSamePairCreateExactlyOne() throws Exception {
+        String agentId = insertAgent();
+        String researcherId = insertResearcher();
+        List<String> attempts = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_CLAIMS; i++) {
+            attempts.add(researcherId);
+        }
+
+        List<AssignmentCreationStatusEnum> results = runConcurrently(attempts,
+            id -> repository.createActive(assignment(id, agentId, "PRIMARY")));
+
+        Map<AssignmentCreationStatusEnum, Long> byStatus = countByStatus(results);
+        assertThat(byStatus).containsEntry(AssignmentCreationStatusEnum.CREATED, 1L);
+        assertThat(byStatus.keySet()).containsOnly(AssignmentCreationStatusEnum.CREATED,
+            AssignmentCreationStatusEnum.SAME_AGENT_OPEN, AssignmentCreationStatusEnum.PRIMARY_TAKEN);
+    }
+
+    private static <T> List<AssignmentCreationStatusEnum> runConcurrently(
+            List<T> inputs, Function<T, AssignmentCreationStatusEnum> claim) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(inputs.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<AssignmentCreationStatusEnum>> futures = new ArrayList<>();
+            for (T input : inputs) {
+                Callable<AssignmentCreationStatusEnum> task = () -> {
+                    start.await();
+                    return claim.apply(input);
+                };
+                futures.add(pool.submit(task));
+            }
+            start.countDown();
+
+            List<AssignmentCreationStatusEnum> results = new ArrayList<>();
+            for (Future<AssignmentCreationStatusEnum> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Map<AssignmentCreationStatusEnum, Long> countByStatus(List<AssignmentCreationStatusEnum> results) {
+        return results.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    private static AgentAssignment assignment(String researcherId, String agentId, String role) {
+        return AgentAssignment.builder()
+            .researcher(Researcher.builder().id(researcherId).build())
+            .agent(AIAgent.builder().id(agentId).build())
+            .role(role)
+            .build();
+    }
+
+    private static String insertAgent() {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO ai_agents (id, name, category, industry) VALUES (:id, :id, 'test', 'test')",
+            new MapSqlParameterSource("id", id));
+        return id;
+    }
+
+    private static String insertResearcher() {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO investigadores (id, name, email) VALUES (:id, :id, :id)",
+            new MapSqlParameterSource("id", id));
+        return id;
+    }
+
+    private static int count(String sql, String id) {
+        Integer value = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("id", id), Integer.class);
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.tribu.interview.manager.repository.jdbc;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Prepara una base PostgreSQL de Testcontainers con las tablas base y los scripts de
+ * db/schema en orden, igual que spring.sql.init al arrancar.
+ */
+public final class PostgresTestSchema {
+
+    private PostgresTestSchema() {
+    }
+
+    public static DataSource create(PostgreSQLContainer<?> postgres) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        populator.addScript(new ClassPathResource("db/test-base-schema.sql"));
+        try {
+            Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/schema/*.sql");
+            Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+            populator.addScripts(scripts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        populator.execute(dataSource);
+        return dataSource;
+    }
+}
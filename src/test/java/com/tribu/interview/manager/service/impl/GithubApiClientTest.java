@@ -0,0 +1,147 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.service.cache.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class GithubApiClientTest {
+    private static final String BASE_URL = "http://github.test";
+    private static final String USER_PATH = "/users/octocat";
+    private static final String USER_JSON = "{\"login\":\"octocat\",\"id\":1}";
+
+    private MockRestServiceServer server;
+    private GithubApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new GithubApiClient(restTemplate, new CacheRegistry());
+        ReflectionTestUtils.setField(client, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(client, "githubToken", "test-token");
+        ReflectionTestUtils.setField(client, "etagCacheMaxSize", 100);
+        ReflectionTestUtils.setField(client, "etagCacheTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(client, "reserve", 100);
+        ReflectionTestUtils.setField(client, "maxWaitMs", 2000L);
+        client.init();
+    }
+
+    @Test
+    void reusesCachedBodyWhenGithubAnswersNotModified() {
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andExpect(method(HttpMethod.GET))
+            .andExpect(header(HttpHeaders.AUTHORIZATION, "token test-token"))
+            .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON)
+                .headers(headers("ETag", "\"v1\"")));
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+            .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers("ETag", "\"v1\"")));
+
+        Optional<Map> first = client.get(USER_PATH, Map.class);
+        Optional<Map> second = client.get(USER_PATH, Map.class);
+
+        server.verify();
+        assertThat(first).isPresent();
+        assertThat(second).containsSame(first.get());
+        assertThat(client.getRequests()).isEqualTo(2);
+        assertThat(client.getNotModified()).isEqualTo(1);
+    }
+
+    @Test
+    void spacesCallsWhenRemainingQuotaIsBelowReserve() {
+        long reset = Instant.now().plusSeconds(2).getEpochSecond();
+        HttpHeaders lowQuota = headers("X-RateLimit-Limit", "5000");
+        lowQuota.set("X-RateLimit-Remaining", "2");
+        lowQuota.set("X-RateLimit-Reset", String.valueOf(reset));
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON).headers(lowQuota));
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andRespond(withSuccess(USER_JSON, MediaType.APPLICATION_JSON).headers(lowQuota));
+
+        client.get(USER_PATH, Map.class);
+        long start = System.nanoTime();
+        client.get(USER_PATH, Map.class);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        server.verify();
+        assertThat(client.getPaced()).isEqualTo(1);
+        assertThat(client.getRemaining()).isEqualTo(2L);
+        // Lo que queda hasta el reset (entre 1 y 2 s) repartido entre las 2 llamadas restantes
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(400));
+    }
+
+    @Test
+    void tooManyRequestsBlocksFurtherCallsUntilRetryAfter() {
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers(HttpHeaders.RETRY_AFTER, "120")));
+
+        assertThatThrownBy(() -> client.get(USER_PATH, Map.class))
+            .isInstanceOfSatisfying(GithubRateLimitedException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                assertThat(e.getRetryAfter()).isBetween(Duration.ofSeconds(110), Duration.ofSeconds(120));
+                assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+            });
+
+        // Bloqueado más allá de max-wait-ms: falla sin llegar a llamar a GitHub
+        assertThatThrownBy(() -> client.get(USER_PATH, Map.class))
+            .isInstanceOf(GithubRateLimitedException.class);
+        server.verify();
+        assertThat(client.getRequests()).isEqualTo(1);
+        assertThat(client.getThrottled()).isEqualTo(1);
+        assertThat(client.getBlockedUntil()).isAfter(Instant.now().plusSeconds(100));
+    }
+
+    @Test
+    void forbiddenWithExhaustedQuotaIsRateLimited() {
+        long reset = Instant.now().plusSeconds(600).getEpochSecond();
+        HttpHeaders exhausted = headers("X-RateLimit-Remaining", "0");
+        exhausted.set("X-RateLimit-Reset", String.valueOf(reset));
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andRespond(withStatus(HttpStatus.FORBIDDEN).headers(exhausted));
+
+        assertThatThrownBy(() -> client.get(USER_PATH, Map.class))
+            .isInstanceOfSatisfying(GithubRateLimitedException.class, e ->
+                assertThat(e.getRetryAfter()).isGreaterThan(Duration.ofSeconds(500)));
+        server.verify();
+        assertThat(client.getBlockedUntil()).isEqualTo(Instant.ofEpochSecond(reset));
+    }
+
+    @Test
+    void forbiddenWithoutRateLimitHeadersIsNotThrottling() {
+        server.expect(requestTo(BASE_URL + USER_PATH))
+            .andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        assertThatThrownBy(() -> client.get(USER_PATH, Map.class))
+            .isInstanceOf(HttpClientErrorException.Forbidden.class);
+        server.verify();
+        assertThat(client.getThrottled()).isZero();
+        assertThat(client.getBlockedUntil()).isNull();
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(name, value);
+        return headers;
+    }
+}
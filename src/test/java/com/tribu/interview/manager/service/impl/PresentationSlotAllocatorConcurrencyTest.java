@@ -0,0 +1,102 @@
+package com.tribu.interview.manager.service.impl;
+
+import com.tribu.interview.manager.repository.jdbc.JdbcPresentationSlotRepository;
+import com.tribu.interview.manager.repository.jdbc.PostgresTestSchema;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservas concurrentes de cupos contra PostgreSQL real: si la capacidad generada alcanza para
+ * todas, todas se conceden, ningún cupo pasa de su capacidad y cada reserva devuelta corresponde
+ * exactamente a un lugar usado.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PresentationSlotAllocatorConcurrencyTest {
+    private static final int PARALLEL_CLAIMS = 24;
+    private static final int CAPACITY = 3;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+    private static PresentationSlotAllocator allocator;
+
+    @BeforeAll
+    static void setUp() {
+        DataSource dataSource = PostgresTestSchema.create(POSTGRES);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        allocator = new PresentationSlotAllocator(new JdbcPresentationSlotRepository(jdbcTemplate));
+        ReflectionTestUtils.setField(allocator, "capacity", CAPACITY);
+        // Capacidad suficiente para todas las reservas aunque el primer martes ya haya pasado
+        ReflectionTestUtils.setField(allocator, "weeksAhead", PARALLEL_CLAIMS / CAPACITY + 1);
+    }
+
+    @Test
+    void parallelClaimsAllSucceedWithoutOverfillingASlot() throws Exception {
+        allocator.generateUpcomingSlots();
+
+        ExecutorService pool = Executors.newFixedThreadPool(PARALLEL_CLAIMS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LocalDateTime>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < PARALLEL_CLAIMS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return allocator.claimNextSlot();
+                }));
+            }
+            start.countDown();
+
+            // Una reserva rechazada con 503 hace fallar el get
+            List<LocalDateTime> claimed = new ArrayList<>();
+            for (Future<LocalDateTime> future : futures) {
+                claimed.add(future.get());
+            }
+
+            Map<LocalDateTime, Long> claimsBySlot = claimed.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+            Map<LocalDateTime, Long> usedBySlot = usedBySlot();
+
+            assertThat(claimed).hasSize(PARALLEL_CLAIMS);
+            assertThat(claimsBySlot.values()).allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(CAPACITY));
+            assertThat(usedBySlot).isEqualTo(claimsBySlot);
+            assertThat(overfilledSlots()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Map<LocalDateTime, Long> usedBySlot() {
+        return jdbcTemplate.query("SELECT slot_date, used FROM presentation_slots WHERE used > 0",
+                new MapSqlParameterSource(),
+                (rs, rowNum) -> Map.entry(rs.getObject("slot_date", LocalDateTime.class), rs.getLong("used")))
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static int overfilledSlots() {
+        Integer value = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM presentation_slots WHERE used > capacity",
+            new MapSqlParameterSource(), Integer.class);
+        return value == null ? 0 : value;
+    }
+}
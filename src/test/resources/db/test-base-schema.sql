@@ -0,0 +1,62 @@
+-- Tablas base que en producción ya existen antes de db/schema/*.sql; solo las columnas que usa la aplicación
+CREATE TABLE ai_agents (
+    id                TEXT PRIMARY KEY,
+    name              TEXT,
+    created_by        TEXT,
+    website           TEXT,
+    access            TEXT,
+    pricing_model     TEXT,
+    category          TEXT,
+    industry          TEXT,
+    short_description TEXT,
+    long_description  TEXT,
+    key_features      TEXT,
+    use_cases         TEXT,
+    tags              TEXT,
+    logo              TEXT,
+    logo_file_name    TEXT,
+    image             TEXT,
+    image_file_name   TEXT,
+    video             TEXT,
+    upvotes           INTEGER,
+    approved          BOOLEAN,
+    created_at        TIMESTAMP,
+    slug              TEXT,
+    version           TEXT,
+    featured          BOOLEAN
+);
+
+CREATE TABLE investigadores (
+    id               TEXT PRIMARY KEY,
+    name             TEXT,
+    email            TEXT UNIQUE,
+    phone            TEXT,
+    github_username  TEXT,
+    avatar_url       TEXT,
+    repository_url   TEXT,
+    linkedin_profile TEXT,
+    current_rol      TEXT,
+    created_at       TIMESTAMP DEFAULT NOW()
+);
+
+CREATE TABLE agent_assignments (
+    id              TEXT PRIMARY KEY,
+    investigador_id TEXT NOT NULL REFERENCES investigadores (id),
+    agent_id        TEXT NOT NULL REFERENCES ai_agents (id),
+    status          TEXT NOT NULL,
+    assigned_at     TIMESTAMP NOT NULL,
+    role            TEXT NOT NULL
+);
+
+CREATE TABLE presentations (
+    id                TEXT PRIMARY KEY,
+    assignment_id     TEXT REFERENCES agent_assignments (id),
+    video_url         TEXT,
+    presentation_week INTEGER,
+    presentation_date TIMESTAMP,
+    upload_date       TIMESTAMP,
+    votes_count       INTEGER DEFAULT 0,
+    is_winner         BOOLEAN DEFAULT false,
+    status            TEXT,
+    show_order        INTEGER
+);